@@ -0,0 +1,199 @@
+package datastructure.benchmark;
+
+import datastructure.immutable.tree.ArrayBinaryTree;
+import datastructure.util.Parallelism;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    Construction, size, depth, compare, flip and traversals on the immutable, mutable and array backed binary trees
+    The parallel versions run on the common pool
+    publishSnapshot flips a mutable tree that shares its nodes with its last snapshot, then freezes it again
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BinaryTreeBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    KeyDistribution distribution;
+
+    Integer[] items;
+
+    datastructure.immutable.tree.BinaryTree<Integer> immutableTree;
+    datastructure.immutable.tree.BinaryTree<Integer> immutableCopy;
+    datastructure.mutable.tree.BinaryTree<Integer> mutableTree;
+    datastructure.mutable.tree.BinaryTree<Integer> mutableCopy;
+    datastructure.mutable.tree.BinaryTree<Integer> sharedTree;
+    ArrayBinaryTree<Integer> arrayTree;
+    ArrayBinaryTree<Integer> arrayCopy;
+
+    @Setup
+    public void setup() {
+        items = distribution.boxedKeys(size);
+
+        immutableTree = datastructure.immutable.tree.BinaryTree.of(items);
+        immutableCopy = datastructure.immutable.tree.BinaryTree.of(items);
+        mutableTree = datastructure.mutable.tree.BinaryTree.of(items);
+        mutableCopy = datastructure.mutable.tree.BinaryTree.of(items);
+        sharedTree = datastructure.mutable.tree.BinaryTree.of(items);
+        sharedTree.freeze();
+        arrayTree = ArrayBinaryTree.of(items);
+        arrayCopy = ArrayBinaryTree.of(items);
+    }
+
+    @Benchmark
+    public Object constructImmutable() {
+        return datastructure.immutable.tree.BinaryTree.of(items);
+    }
+
+    @Benchmark
+    public Object constructMutable() {
+        return datastructure.mutable.tree.BinaryTree.of(items);
+    }
+
+    @Benchmark
+    public Object constructArray() {
+        return ArrayBinaryTree.of(items);
+    }
+
+    @Benchmark
+    public Object sizeImmutable() {
+        return immutableTree.size();
+    }
+
+    @Benchmark
+    public Object sizeMutable() {
+        return mutableTree.size();
+    }
+
+    @Benchmark
+    public Object depthImmutable() {
+        return immutableTree.depth();
+    }
+
+    @Benchmark
+    public Object depthMutable() {
+        return mutableTree.depth();
+    }
+
+    @Benchmark
+    public Object compareImmutable() {
+        return immutableTree.compare(immutableCopy);
+    }
+
+    @Benchmark
+    public Object compareMutable() {
+        return mutableTree.compare(mutableCopy);
+    }
+
+    @Benchmark
+    public Object compareArray() {
+        return arrayTree.compare(arrayCopy);
+    }
+
+    @Benchmark
+    public Object flipImmutable() {
+        return immutableTree.flip();
+    }
+
+    @Benchmark
+    public Object flipCompareImmutable() {
+        return immutableTree.flip().compare(immutableCopy.flip());
+    }
+
+    @Benchmark
+    public Object flipMutable() {
+        mutableTree.flip();
+        return mutableTree;
+    }
+
+    @Benchmark
+    public Object flipArray() {
+        return arrayTree.flip();
+    }
+
+    @Benchmark
+    public void inOrderMutable(Blackhole blackhole) {
+        mutableTree.inOrderTraversal(blackhole::consume);
+    }
+
+    @Benchmark
+    public void postOrderMutable(Blackhole blackhole) {
+        mutableTree.postOrderTraversal(blackhole::consume);
+    }
+
+    @Benchmark
+    public void levelOrderMutable(Blackhole blackhole) {
+        mutableTree.levelOrderTraversal(blackhole::consume);
+    }
+
+    // parallel
+
+    @Benchmark
+    public Object sizeMutableParallel() {
+        return mutableTree.size(Parallelism.common());
+    }
+
+    @Benchmark
+    public Object depthMutableParallel() {
+        return mutableTree.depth(Parallelism.common());
+    }
+
+    @Benchmark
+    public Object compareMutableParallel() {
+        return mutableTree.compare(mutableCopy, Parallelism.common());
+    }
+
+    @Benchmark
+    public Object flipMutableParallel() {
+        mutableTree.flip(Parallelism.common());
+        return mutableTree;
+    }
+
+    @Benchmark
+    public Object compareImmutableParallel() {
+        return immutableTree.compare(immutableCopy, Parallelism.common());
+    }
+
+    @Benchmark
+    public Object flipImmutableParallel() {
+        return immutableTree.flip(Parallelism.common());
+    }
+
+    // snapshots
+
+    @Benchmark
+    public Object freezeMutable() {
+        return datastructure.mutable.tree.BinaryTree.of(items).freeze();
+    }
+
+    @Benchmark
+    public Object publishSnapshot() {
+        sharedTree.flip();
+        return sharedTree.freeze();
+    }
+
+    @Benchmark
+    public Object thawImmutable() {
+        return immutableTree.thaw();
+    }
+}
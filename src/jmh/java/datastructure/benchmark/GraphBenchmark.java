@@ -0,0 +1,77 @@
+package datastructure.benchmark;
+
+import datastructure.mutable.graph.DirectedGraph;
+import datastructure.mutable.graph.UndirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Graph construction with size edges over size / 8 vertices
+    compared with an adjacency list made of java.util.ArrayList
+    Edge endpoints come from the distribution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GraphBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "SKEWED"})
+    KeyDistribution distribution;
+
+    int vertices;
+    int[] sources;
+    int[] destinations;
+
+    @Setup
+    public void setup() {
+        vertices = Math.max(1, size / 8);
+        sources = distribution.keys(size);
+        destinations = KeyDistribution.RANDOM.keys(size);
+
+        for(int i = 0; i < size; i++) {
+            sources[i] %= vertices;
+            destinations[i] %= vertices;
+        }
+    }
+
+    @Benchmark
+    public Object directedGraph() {
+        DirectedGraph graph = new DirectedGraph(vertices);
+        for(int i = 0; i < size; i++) graph.addEdge(sources[i], destinations[i]);
+        return graph;
+    }
+
+    @Benchmark
+    public Object undirectedGraph() {
+        UndirectedGraph graph = new UndirectedGraph(vertices);
+        for(int i = 0; i < size; i++) graph.addEdge(sources[i], destinations[i]);
+        return graph;
+    }
+
+    @Benchmark
+    public Object arrayListAdjacency() {
+        List<List<Integer>> graph = new ArrayList<>(vertices);
+        for(int v = 0; v < vertices; v++) graph.add(new ArrayList<>());
+        for(int i = 0; i < size; i++) graph.get(sources[i]).add(destinations[i]);
+        return graph;
+    }
+}
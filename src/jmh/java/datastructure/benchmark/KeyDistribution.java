@@ -0,0 +1,60 @@
+package datastructure.benchmark;
+
+import java.util.Random;
+
+/*
+    Order in which keys are fed to the data structures
+ */
+public enum KeyDistribution {
+
+    /*
+        0, 1, 2, ... (worst case for unbalanced search trees)
+     */
+    SEQUENTIAL {
+        @Override
+        int[] keys(int size, Random random) {
+            int[] keys = new int[size];
+            for(int i = 0; i < size; i++) keys[i] = i;
+            return keys;
+        }
+    },
+
+    /*
+        Uniformly random keys in [0, size)
+     */
+    RANDOM {
+        @Override
+        int[] keys(int size, Random random) {
+            int[] keys = new int[size];
+            for(int i = 0; i < size; i++) keys[i] = random.nextInt(size);
+            return keys;
+        }
+    },
+
+    /*
+        Mostly increasing keys with a few random ones, like timestamps arriving slightly out of order
+     */
+    SKEWED {
+        @Override
+        int[] keys(int size, Random random) {
+            int[] keys = new int[size];
+            for(int i = 0; i < size; i++) keys[i] = random.nextInt(10) == 0 ? random.nextInt(size) : i;
+            return keys;
+        }
+    };
+
+    static final long SEED = 42;
+
+    abstract int[] keys(int size, Random random);
+
+    int[] keys(int size) {
+        return keys(size, new Random(SEED));
+    }
+
+    Integer[] boxedKeys(int size) {
+        int[] keys = keys(size);
+        Integer[] boxed = new Integer[size];
+        for(int i = 0; i < size; i++) boxed[i] = keys[i];
+        return boxed;
+    }
+}
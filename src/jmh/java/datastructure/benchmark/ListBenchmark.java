@@ -0,0 +1,229 @@
+package datastructure.benchmark;
+
+import datastructure.immutable.list.IntLinkedList;
+import datastructure.immutable.list.LazyList;
+import datastructure.immutable.list.LinkedList;
+import datastructure.immutable.list.PersistentVector;
+import datastructure.immutable.list.UnrolledList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Construction, traversal, indexed lookup, insert and delete on the immutable lists
+    compared with java.util.ArrayList and java.util.LinkedList
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    KeyDistribution distribution;
+
+    Integer[] items;
+    int[] primitiveItems;
+
+    LinkedList<Integer> linkedList;
+    PersistentVector<Integer> vector;
+    UnrolledList<Integer> unrolledList;
+    IntLinkedList intLinkedList;
+    ArrayList<Integer> arrayList;
+    java.util.LinkedList<Integer> javaLinkedList;
+
+    @Setup
+    public void setup() {
+        items = distribution.boxedKeys(size);
+        primitiveItems = distribution.keys(size);
+
+        linkedList = LinkedList.of(items);
+        vector = PersistentVector.of(items);
+        unrolledList = UnrolledList.ofInts(primitiveItems);
+        intLinkedList = IntLinkedList.of(primitiveItems);
+        arrayList = new ArrayList<>(Arrays.asList(items));
+        javaLinkedList = new java.util.LinkedList<>(arrayList);
+    }
+
+    // construction
+
+    @Benchmark
+    public Object constructLinkedList() {
+        return LinkedList.of(items);
+    }
+
+    @Benchmark
+    public Object constructLinkedListFromStream() {
+        return LinkedList.fromStream(Arrays.stream(items));
+    }
+
+    @Benchmark
+    public Object constructVector() {
+        return PersistentVector.of(items);
+    }
+
+    @Benchmark
+    public Object constructUnrolledList() {
+        return UnrolledList.ofInts(primitiveItems);
+    }
+
+    @Benchmark
+    public Object constructIntLinkedList() {
+        return IntLinkedList.of(primitiveItems);
+    }
+
+    @Benchmark
+    public Object constructArrayList() {
+        return new ArrayList<>(Arrays.asList(items));
+    }
+
+    @Benchmark
+    public Object constructJavaLinkedList() {
+        return new java.util.LinkedList<>(Arrays.asList(items));
+    }
+
+    // traversal
+
+    @Benchmark
+    public void traverseLinkedList(Blackhole blackhole) {
+        linkedList.traverse(blackhole::consume);
+    }
+
+    @Benchmark
+    public long parallelSumLinkedList() {
+        return linkedList.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public void traverseVector(Blackhole blackhole) {
+        vector.traverse(blackhole::consume);
+    }
+
+    @Benchmark
+    public void traverseUnrolledList(Blackhole blackhole) {
+        unrolledList.traverse(blackhole::consume);
+    }
+
+    @Benchmark
+    public void traverseIntLinkedList(Blackhole blackhole) {
+        intLinkedList.traverse(blackhole::consume);
+    }
+
+    @Benchmark
+    public long lazyListPipeline() {
+        return LazyList.from(linkedList).map(x -> x * 2).filter(x -> x % 3 == 0).foldLeft(0L, Long::sum);
+    }
+
+    @Benchmark
+    public void traverseArrayList(Blackhole blackhole) {
+        arrayList.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void traverseJavaLinkedList(Blackhole blackhole) {
+        javaLinkedList.forEach(blackhole::consume);
+    }
+
+    // indexed lookup (middle element)
+
+    @Benchmark
+    public Object getLinkedList() {
+        return linkedList.get(size / 2);
+    }
+
+    @Benchmark
+    public Object getVector() {
+        return vector.get(size / 2);
+    }
+
+    @Benchmark
+    public Object getUnrolledList() {
+        return unrolledList.get(size / 2);
+    }
+
+    @Benchmark
+    public Object getArrayList() {
+        return arrayList.get(size / 2);
+    }
+
+    @Benchmark
+    public Object getJavaLinkedList() {
+        return javaLinkedList.get(size / 2);
+    }
+
+    // insert at the front and in the middle
+
+    @Benchmark
+    public Object prependLinkedList() {
+        return linkedList.prepend(-1);
+    }
+
+    @Benchmark
+    public Object prependVector() {
+        return vector.prepend(-1);
+    }
+
+    @Benchmark
+    public Object prependUnrolledList() {
+        return unrolledList.prepend(-1);
+    }
+
+    @Benchmark
+    public Object insertMiddleLinkedList() {
+        return linkedList.insertAt(size / 2, -1);
+    }
+
+    @Benchmark
+    public Object updateMiddleVector() {
+        return vector.updated(size / 2, -1);
+    }
+
+    @Benchmark
+    public Object insertMiddleArrayListCopy() {
+        ArrayList<Integer> copy = new ArrayList<>(arrayList);
+        copy.add(size / 2, -1);
+        return copy;
+    }
+
+    // delete in the middle
+
+    @Benchmark
+    public Object deleteMiddleLinkedList() {
+        return linkedList.delete(size / 2);
+    }
+
+    @Benchmark
+    public Object deleteMiddleVector() {
+        return vector.delete(size / 2);
+    }
+
+    @Benchmark
+    public Object deleteMiddleUnrolledList() {
+        return unrolledList.delete(size / 2);
+    }
+
+    @Benchmark
+    public Object deleteMiddleArrayListCopy() {
+        ArrayList<Integer> copy = new ArrayList<>(arrayList);
+        copy.remove(size / 2);
+        return copy;
+    }
+}
@@ -0,0 +1,121 @@
+package datastructure.benchmark;
+
+import datastructure.immutable.tree.LongTreeMap;
+import datastructure.immutable.tree.TreeMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    Construction and lookup on the persistent maps compared with java.util.TreeMap
+    Keys are generated by the distribution, lookups use the same keys in the same order
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MapBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "SKEWED"})
+    KeyDistribution distribution;
+
+    int[] keys;
+    Long[] boxedKeys;
+
+    TreeMap<Long, Integer> treeMap;
+    LongTreeMap<Integer> longTreeMap;
+    java.util.TreeMap<Long, Integer> javaTreeMap;
+
+    @Setup
+    public void setup() {
+        keys = distribution.keys(size);
+        boxedKeys = new Long[size];
+        for(int i = 0; i < size; i++) boxedKeys[i] = (long) keys[i];
+
+        treeMap = TreeMap.empty();
+        longTreeMap = LongTreeMap.empty();
+        javaTreeMap = new java.util.TreeMap<>();
+
+        for(int i = 0; i < size; i++) {
+            treeMap = treeMap.put(boxedKeys[i], i);
+            longTreeMap = longTreeMap.put(keys[i], i);
+            javaTreeMap.put(boxedKeys[i], i);
+        }
+    }
+
+    // construction
+
+    @Benchmark
+    public Object putTreeMap() {
+        TreeMap<Long, Integer> map = TreeMap.empty();
+        for(int i = 0; i < size; i++) map = map.put(boxedKeys[i], i);
+        return map;
+    }
+
+    @Benchmark
+    public Object putLongTreeMap() {
+        LongTreeMap<Integer> map = LongTreeMap.empty();
+        for(int i = 0; i < size; i++) map = map.put(keys[i], i);
+        return map;
+    }
+
+    @Benchmark
+    public Object putJavaTreeMap() {
+        java.util.TreeMap<Long, Integer> map = new java.util.TreeMap<>();
+        for(int i = 0; i < size; i++) map.put(boxedKeys[i], i);
+        return map;
+    }
+
+    // lookup
+
+    @Benchmark
+    public void getTreeMap(Blackhole blackhole) {
+        for(Long key : boxedKeys) blackhole.consume(treeMap.get(key));
+    }
+
+    @Benchmark
+    public void getLongTreeMap(Blackhole blackhole) {
+        for(int key : keys) blackhole.consume(longTreeMap.get(key));
+    }
+
+    @Benchmark
+    public void getJavaTreeMap(Blackhole blackhole) {
+        for(Long key : boxedKeys) blackhole.consume(javaTreeMap.get(key));
+    }
+
+    // range scan over the first hundred keys after the middle one
+
+    @Benchmark
+    public void rangeTreeMap(Blackhole blackhole) {
+        long from = size / 2;
+        treeMap.entries(from, from + 100).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void rangeLongTreeMap(Blackhole blackhole) {
+        long from = size / 2;
+        longTreeMap.traverse(from, from + 100, (key, value) -> blackhole.consume(value));
+    }
+
+    @Benchmark
+    public void rangeJavaTreeMap(Blackhole blackhole) {
+        long from = size / 2;
+        javaTreeMap.subMap(from, true, from + 100, true).entrySet().forEach(blackhole::consume);
+    }
+}
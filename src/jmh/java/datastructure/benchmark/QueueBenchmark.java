@@ -0,0 +1,81 @@
+package datastructure.benchmark;
+
+import datastructure.immutable.list.LinkedList;
+import datastructure.immutable.list.PersistentDeque;
+import datastructure.immutable.list.PersistentVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/*
+    FIFO usage: enqueue size elements, then dequeue all of them
+    LinkedList.append copies the whole list on every call, so its sizes stop at 1e5
+    (run it with -p size=... to go further)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QueueBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    @Benchmark
+    public void linkedListAppend(Blackhole blackhole) {
+        LinkedList<Integer> queue = LinkedList.of();
+
+        for(int i = 0; i < size; i++) queue = queue.append(i);
+
+        while(!queue.isEmpty()) {
+            blackhole.consume(queue.head());
+            queue = queue.tail();
+        }
+    }
+
+    @Benchmark
+    public void persistentDeque(Blackhole blackhole) {
+        PersistentDeque<Integer> queue = PersistentDeque.empty();
+
+        for(int i = 0; i < size; i++) queue = queue.append(i);
+
+        while(!queue.isEmpty()) {
+            blackhole.consume(queue.head());
+            queue = queue.tail();
+        }
+    }
+
+    @Benchmark
+    public void persistentVector(Blackhole blackhole) {
+        PersistentVector<Integer> queue = PersistentVector.empty();
+
+        for(int i = 0; i < size; i++) queue = queue.append(i);
+
+        while(!queue.isEmpty()) {
+            blackhole.consume(queue.head());
+            queue = queue.tail();
+        }
+    }
+
+    @Benchmark
+    public void arrayDeque(Blackhole blackhole) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+        for(int i = 0; i < size; i++) queue.addLast(i);
+
+        while(!queue.isEmpty()) blackhole.consume(queue.pollFirst());
+    }
+}
@@ -0,0 +1,259 @@
+package datastructure.benchmark;
+
+import datastructure.immutable.tree.BinarySearchTree;
+import datastructure.immutable.tree.KeyCodec;
+import datastructure.immutable.tree.TransientBinarySearchTree;
+import datastructure.immutable.tree.TreeSnapshot;
+import datastructure.mutable.tree.balanced.AVLTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Construction, lookup, traversal, insert, delete and set operations on the search trees compared with java.util.TreeSet
+    Keys are generated by the distribution, lookups use the same keys in the same order
+    Set operations combine the tree with a tree of the same keys shifted by half the size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchTreeBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "SKEWED"})
+    KeyDistribution distribution;
+
+    int[] keys;
+    Integer[] boxedKeys;
+    Integer[] sortedKeys;
+
+    BinarySearchTree<Integer> bst;
+    AVLTree avlTree;
+    TreeSet<Integer> treeSet;
+
+    Path snapshotFile;
+    TreeSnapshot<Integer> snapshot;
+
+    BinarySearchTree<Integer> shiftedBst;
+    TreeSet<Integer> shiftedTreeSet;
+
+    @Setup
+    public void setup() throws IOException {
+        keys = distribution.keys(size);
+        boxedKeys = distribution.boxedKeys(size);
+
+        sortedKeys = boxedKeys.clone();
+        Arrays.sort(sortedKeys);
+
+        bst = BinarySearchTree.of(boxedKeys);
+        avlTree = new AVLTree();
+        for(int key : keys) avlTree.insert(key);
+        treeSet = new TreeSet<>();
+        for(int key : keys) treeSet.add(key);
+
+        Integer[] shiftedKeys = new Integer[size];
+        for(int i = 0; i < size; i++) shiftedKeys[i] = keys[i] + size / 2;
+        shiftedBst = BinarySearchTree.of(shiftedKeys);
+        shiftedTreeSet = new TreeSet<>();
+        for(Integer key : shiftedKeys) shiftedTreeSet.add(key);
+
+        snapshotFile = Files.createTempFile("bst", ".snapshot");
+        TreeSnapshot.write(bst, KeyCodec.INTEGER, snapshotFile);
+        snapshot = TreeSnapshot.open(snapshotFile, KeyCodec.INTEGER);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    // construction
+
+    @Benchmark
+    public Object constructBstBulk() {
+        return BinarySearchTree.of(boxedKeys);
+    }
+
+    @Benchmark
+    public Object constructBstSorted() {
+        return BinarySearchTree.ofSorted(sortedKeys);
+    }
+
+    @Benchmark
+    public Object constructBstFromStream() {
+        return BinarySearchTree.fromStream(Arrays.stream(boxedKeys));
+    }
+
+    @Benchmark
+    public Object constructBstByInsert() {
+        BinarySearchTree<Integer> tree = BinarySearchTree.of();
+        for(Integer key : boxedKeys) tree = tree.insert(key);
+        return tree;
+    }
+
+    @Benchmark
+    public Object constructBstTransient() {
+        TransientBinarySearchTree<Integer> tree = BinarySearchTree.<Integer>of().asTransient();
+        for(Integer key : boxedKeys) tree.insert(key);
+        return tree.persistent();
+    }
+
+    @Benchmark
+    public Object constructAvlTree() {
+        AVLTree tree = new AVLTree();
+        for(int key : keys) tree.insert(key);
+        return tree;
+    }
+
+    @Benchmark
+    public Object constructTreeSet() {
+        TreeSet<Integer> tree = new TreeSet<>();
+        for(int key : keys) tree.add(key);
+        return tree;
+    }
+
+    // lookup
+
+    @Benchmark
+    public void findBst(Blackhole blackhole) {
+        for(Integer key : boxedKeys) blackhole.consume(bst.find(key));
+    }
+
+    @Benchmark
+    public void findAvlTree(Blackhole blackhole) {
+        for(int key : keys) blackhole.consume(avlTree.find(key));
+    }
+
+    @Benchmark
+    public void findTreeSet(Blackhole blackhole) {
+        for(int key : keys) blackhole.consume(treeSet.contains(key));
+    }
+
+    @Benchmark
+    public void findSnapshot(Blackhole blackhole) {
+        for(Integer key : boxedKeys) blackhole.consume(snapshot.find(key));
+    }
+
+    // loading a saved tree
+
+    @Benchmark
+    public Object openSnapshot() throws IOException {
+        return TreeSnapshot.open(snapshotFile, KeyCodec.INTEGER).find(size / 2);
+    }
+
+    @Benchmark
+    public Object loadSnapshot() throws IOException {
+        return TreeSnapshot.open(snapshotFile, KeyCodec.INTEGER).toTree();
+    }
+
+    // traversal
+
+    @Benchmark
+    public void traverseBst(Blackhole blackhole) {
+        bst.inOrderTraversal(blackhole::consume);
+    }
+
+    @Benchmark
+    public void traverseTreeSet(Blackhole blackhole) {
+        treeSet.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public Object sizeBst() {
+        return bst.size();
+    }
+
+    // map
+
+    @Benchmark
+    public Object mapBst() {
+        return bst.map(key -> -key);
+    }
+
+    @Benchmark
+    public Object mapMonotonicBst() {
+        return bst.mapMonotonic(key -> key * 2L);
+    }
+
+    // single insert and delete on a tree of the given size
+
+    @Benchmark
+    public Object insertBst() {
+        return bst.insert(size / 2);
+    }
+
+    @Benchmark
+    public Object insertDeleteBst() {
+        return bst.insert(-1).delete(-1);
+    }
+
+    @Benchmark
+    public Object deleteBst() {
+        return bst.delete(keys[size / 2]);
+    }
+
+    @Benchmark
+    public void insertDeleteAvlTree() {
+        avlTree.insert(-1);
+        avlTree.delete(-1);
+    }
+
+    @Benchmark
+    public void insertDeleteTreeSet() {
+        treeSet.add(-1);
+        treeSet.remove(-1);
+    }
+
+    // set operations
+
+    @Benchmark
+    public Object unionBst() {
+        return bst.union(shiftedBst);
+    }
+
+    @Benchmark
+    public Object unionBstByInsert() {
+        BinarySearchTree<Integer> tree = bst;
+        for(Integer key : shiftedBst) tree = tree.insert(key);
+        return tree;
+    }
+
+    @Benchmark
+    public Object unionTreeSet() {
+        TreeSet<Integer> tree = new TreeSet<>(treeSet);
+        tree.addAll(shiftedTreeSet);
+        return tree;
+    }
+
+    @Benchmark
+    public Object intersectionBst() {
+        return bst.intersection(shiftedBst);
+    }
+
+    @Benchmark
+    public Object differenceBst() {
+        return bst.difference(shiftedBst);
+    }
+}
@@ -1,4 +1,5 @@
 import datastructure.immutable.list.LinkedList;
+import datastructure.immutable.list.PersistentVector;
 import datastructure.immutable.tree.BinarySearchTree;
 import datastructure.mutable.graph.UndirectedGraph;
 import datastructure.mutable.tree.BinaryTree;
@@ -54,6 +55,11 @@ public class JavaDatastructure {
         prependedList.delete(2).traverse(x -> System.out.print(x + " "));
         System.out.println();
 
+        // persistent vector with indexed access
+        PersistentVector<Integer> vector = PersistentVector.of(5, 12, 14, 3);
+        System.out.println(vector.append(100).updated(1, 13).prepend(0));
+        System.out.println(vector.get(2).orElse(-1));
+
         BinaryTree bTree = BinaryTree.of(1, 2, 4, 5, 6, 7);
         System.out.println(bTree.depth());
 
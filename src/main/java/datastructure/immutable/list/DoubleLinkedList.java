@@ -0,0 +1,302 @@
+package datastructure.immutable.list;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Represents an empty DoubleLinkedList
+ */
+class DoubleNil extends DoubleLinkedList {
+
+    @Override
+    public String toString() {
+        return "Nil";
+    }
+}
+
+/*
+    Represents a non empty DoubleLinkedList, the element is stored unboxed
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+class DoubleItem extends DoubleLinkedList {
+    double hd;
+    DoubleLinkedList tl;
+
+    @Override
+    public String toString() {
+        return String.format("DoubleItem(%s, %s)", hd, tl);
+    }
+}
+
+/*
+    DoubleLinkedList functionality
+ */
+interface IDoubleLinkedList {
+    boolean isEmpty();
+    double head();
+    DoubleLinkedList tail();
+    void traverse(DoubleConsumer consumer);
+    OptionalDouble get(int index);
+    DoubleLinkedList reverse();
+    DoubleLinkedList drop(int count);
+    DoubleLinkedList dropWhile(DoublePredicate predicate);
+    DoubleLinkedList prepend(double value);
+    DoubleLinkedList prependAll(DoubleLinkedList that);
+    DoubleLinkedList prependAllReversed(DoubleLinkedList that);
+    DoubleLinkedList append(double value);
+    DoubleLinkedList appendAll(DoubleLinkedList that);
+    DoubleLinkedList delete(int index);
+    PrimitiveIterator.OfDouble iterator();
+    DoubleStream stream();
+}
+
+
+/*
+    DoubleLinkedList implementation
+    Same as LinkedList but specialized for double elements, so nothing is boxed
+ */
+public class DoubleLinkedList implements IDoubleLinkedList {
+
+    /*
+        Only one Nil object is required
+     */
+    static DoubleNil nil = new DoubleNil();
+
+    /*
+        Initializes DoubleLinkedList
+        Walks the array from the end and prepends each element
+     */
+    public static DoubleLinkedList of(double... items){
+        DoubleLinkedList list = nil;
+
+        for(int i = items.length - 1; i >= 0; i--) {
+            list = new DoubleItem(items[i], list);
+        }
+
+        return list;
+    }
+
+    protected DoubleLinkedList(){}
+
+    /*
+        returns true if the list is empty
+   */
+    @Override
+    public boolean isEmpty() {
+        return isNil();
+    }
+
+    /*
+        Returns the first element in the list
+    */
+    @Override
+    public double head() {
+        if(isNil()){
+            throw new NoSuchElementException("List is empty");
+        }
+
+        return ((DoubleItem)this).hd;
+    }
+
+    /*
+        Returns the list elements without the head (first element)
+    */
+    @Override
+    public DoubleLinkedList tail() {
+        if(isNil()){
+            throw new NoSuchElementException("List is empty");
+        }
+
+        return ((DoubleItem)this).tl;
+    }
+
+    /*
+        Apply a consumer on each node
+   */
+    @Override
+    public void traverse(DoubleConsumer consumer) {
+
+        DoubleLinkedList cursor = this;
+
+        while(cursor.isNotNil()){
+            consumer.accept(cursor.head());
+            cursor = cursor.tail();
+        }
+    }
+
+    /*
+        Gets an element at index
+    */
+    @Override
+    public OptionalDouble get(int index) {
+
+        DoubleLinkedList cursor = this;
+
+        if(index < 0) throw new IndexOutOfBoundsException();
+
+        while(index-- > 0 && cursor.isNotNil()) cursor = cursor.tail();
+
+        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return OptionalDouble.of(cursor.head());
+    }
+
+    /*
+        Reverses the current(this) list
+   */
+    @Override
+    public DoubleLinkedList reverse() {
+        return nil.prependAllReversed(this);
+    }
+
+    /*
+        Drops n elements from the beginning of the current list (this)
+   */
+    @Override
+    public DoubleLinkedList drop(int count) {
+        DoubleLinkedList cursor = this;
+
+        while(cursor.isNotNil() && count-- > 0) {
+            cursor = cursor.tail();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Drops the elements from the current list (this) while the condition evaluates to true
+   */
+    @Override
+    public DoubleLinkedList dropWhile(DoublePredicate predicate) {
+        DoubleLinkedList cursor = this;
+
+        while(cursor.isNotNil() && predicate.test(cursor.head())) {
+            cursor = cursor.tail();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Adds new element (value) at the beginning of the current list (this)
+    */
+    @Override
+    public DoubleLinkedList prepend(double value) {
+        return new DoubleItem(value, this);
+    }
+
+    /*
+        Adds "that" list at the beginning of current (this) list
+   */
+    @Override
+    public DoubleLinkedList prependAll(DoubleLinkedList that) {
+        return prependAllReversed(that.reverse());
+    }
+
+    /*
+       Adds reversed "that" list at the beginning of current (this) list
+  */
+    @Override
+    public DoubleLinkedList prependAllReversed(DoubleLinkedList that) {
+        DoubleLinkedList list = this;
+        DoubleLinkedList cursor = that;
+
+        while(cursor.isNotNil()){
+            list = list.prepend(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        return list;
+    }
+
+    /*
+        Adds an element in front of current list (this)
+   */
+    @Override
+    public DoubleLinkedList append(double value) {
+        return of(value).prependAll(this);
+    }
+
+    /*
+        Adds "that" list in front of current (this) list
+    */
+    @Override
+    public DoubleLinkedList appendAll(DoubleLinkedList that) {
+        return that.prependAll(this);
+    }
+
+    /*
+        Deletes element at index
+        The elements after index are shared with this list
+     */
+    @Override
+    public DoubleLinkedList delete(int index) {
+        DoubleLinkedList cursor = this;
+
+        if(cursor.isNil() || index < 0)  throw new IndexOutOfBoundsException();
+
+        DoubleLinkedList reversedPrefix = nil;
+
+        while(cursor.isNotNil() && index-- > 0){
+            reversedPrefix = reversedPrefix.prepend(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return cursor.tail().prependAllReversed(reversedPrefix);
+    }
+
+    /*
+        Iterates the elements from head to last without boxing them
+    */
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            DoubleLinkedList cursor = DoubleLinkedList.this;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.isNotNil();
+            }
+
+            @Override
+            public double nextDouble() {
+                double value = cursor.head();
+                cursor = cursor.tail();
+                return value;
+            }
+        };
+    }
+
+    /*
+        Returns a sequential DoubleStream of the list elements
+    */
+    @Override
+    public DoubleStream stream() {
+        return StreamSupport.doubleStream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
+    }
+
+    private boolean isNil() {
+        return this instanceof DoubleNil;
+    }
+
+    private boolean isNotNil() {
+        return !isNil();
+    }
+}
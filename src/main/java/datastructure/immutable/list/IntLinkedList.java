@@ -0,0 +1,302 @@
+package datastructure.immutable.list;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Represents an empty IntLinkedList
+ */
+class IntNil extends IntLinkedList {
+
+    @Override
+    public String toString() {
+        return "Nil";
+    }
+}
+
+/*
+    Represents a non empty IntLinkedList, the element is stored unboxed
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+class IntItem extends IntLinkedList {
+    int hd;
+    IntLinkedList tl;
+
+    @Override
+    public String toString() {
+        return String.format("IntItem(%s, %s)", hd, tl);
+    }
+}
+
+/*
+    IntLinkedList functionality
+ */
+interface IIntLinkedList {
+    boolean isEmpty();
+    int head();
+    IntLinkedList tail();
+    void traverse(IntConsumer consumer);
+    OptionalInt get(int index);
+    IntLinkedList reverse();
+    IntLinkedList drop(int count);
+    IntLinkedList dropWhile(IntPredicate predicate);
+    IntLinkedList prepend(int value);
+    IntLinkedList prependAll(IntLinkedList that);
+    IntLinkedList prependAllReversed(IntLinkedList that);
+    IntLinkedList append(int value);
+    IntLinkedList appendAll(IntLinkedList that);
+    IntLinkedList delete(int index);
+    PrimitiveIterator.OfInt iterator();
+    IntStream stream();
+}
+
+
+/*
+    IntLinkedList implementation
+    Same as LinkedList but specialized for int elements, so nothing is boxed
+ */
+public class IntLinkedList implements IIntLinkedList {
+
+    /*
+        Only one Nil object is required
+     */
+    static IntNil nil = new IntNil();
+
+    /*
+        Initializes IntLinkedList
+        Walks the array from the end and prepends each element
+     */
+    public static IntLinkedList of(int... items){
+        IntLinkedList list = nil;
+
+        for(int i = items.length - 1; i >= 0; i--) {
+            list = new IntItem(items[i], list);
+        }
+
+        return list;
+    }
+
+    protected IntLinkedList(){}
+
+    /*
+        returns true if the list is empty
+   */
+    @Override
+    public boolean isEmpty() {
+        return isNil();
+    }
+
+    /*
+        Returns the first element in the list
+    */
+    @Override
+    public int head() {
+        if(isNil()){
+            throw new NoSuchElementException("List is empty");
+        }
+
+        return ((IntItem)this).hd;
+    }
+
+    /*
+        Returns the list elements without the head (first element)
+    */
+    @Override
+    public IntLinkedList tail() {
+        if(isNil()){
+            throw new NoSuchElementException("List is empty");
+        }
+
+        return ((IntItem)this).tl;
+    }
+
+    /*
+        Apply a consumer on each node
+   */
+    @Override
+    public void traverse(IntConsumer consumer) {
+
+        IntLinkedList cursor = this;
+
+        while(cursor.isNotNil()){
+            consumer.accept(cursor.head());
+            cursor = cursor.tail();
+        }
+    }
+
+    /*
+        Gets an element at index
+    */
+    @Override
+    public OptionalInt get(int index) {
+
+        IntLinkedList cursor = this;
+
+        if(index < 0) throw new IndexOutOfBoundsException();
+
+        while(index-- > 0 && cursor.isNotNil()) cursor = cursor.tail();
+
+        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return OptionalInt.of(cursor.head());
+    }
+
+    /*
+        Reverses the current(this) list
+   */
+    @Override
+    public IntLinkedList reverse() {
+        return nil.prependAllReversed(this);
+    }
+
+    /*
+        Drops n elements from the beginning of the current list (this)
+   */
+    @Override
+    public IntLinkedList drop(int count) {
+        IntLinkedList cursor = this;
+
+        while(cursor.isNotNil() && count-- > 0) {
+            cursor = cursor.tail();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Drops the elements from the current list (this) while the condition evaluates to true
+   */
+    @Override
+    public IntLinkedList dropWhile(IntPredicate predicate) {
+        IntLinkedList cursor = this;
+
+        while(cursor.isNotNil() && predicate.test(cursor.head())) {
+            cursor = cursor.tail();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Adds new element (value) at the beginning of the current list (this)
+    */
+    @Override
+    public IntLinkedList prepend(int value) {
+        return new IntItem(value, this);
+    }
+
+    /*
+        Adds "that" list at the beginning of current (this) list
+   */
+    @Override
+    public IntLinkedList prependAll(IntLinkedList that) {
+        return prependAllReversed(that.reverse());
+    }
+
+    /*
+       Adds reversed "that" list at the beginning of current (this) list
+  */
+    @Override
+    public IntLinkedList prependAllReversed(IntLinkedList that) {
+        IntLinkedList list = this;
+        IntLinkedList cursor = that;
+
+        while(cursor.isNotNil()){
+            list = list.prepend(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        return list;
+    }
+
+    /*
+        Adds an element in front of current list (this)
+   */
+    @Override
+    public IntLinkedList append(int value) {
+        return of(value).prependAll(this);
+    }
+
+    /*
+        Adds "that" list in front of current (this) list
+    */
+    @Override
+    public IntLinkedList appendAll(IntLinkedList that) {
+        return that.prependAll(this);
+    }
+
+    /*
+        Deletes element at index
+        The elements after index are shared with this list
+     */
+    @Override
+    public IntLinkedList delete(int index) {
+        IntLinkedList cursor = this;
+
+        if(cursor.isNil() || index < 0)  throw new IndexOutOfBoundsException();
+
+        IntLinkedList reversedPrefix = nil;
+
+        while(cursor.isNotNil() && index-- > 0){
+            reversedPrefix = reversedPrefix.prepend(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return cursor.tail().prependAllReversed(reversedPrefix);
+    }
+
+    /*
+        Iterates the elements from head to last without boxing them
+    */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            IntLinkedList cursor = IntLinkedList.this;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.isNotNil();
+            }
+
+            @Override
+            public int nextInt() {
+                int value = cursor.head();
+                cursor = cursor.tail();
+                return value;
+            }
+        };
+    }
+
+    /*
+        Returns a sequential IntStream of the list elements
+    */
+    @Override
+    public IntStream stream() {
+        return StreamSupport.intStream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
+    }
+
+    private boolean isNil() {
+        return this instanceof IntNil;
+    }
+
+    private boolean isNotNil() {
+        return !isNil();
+    }
+}
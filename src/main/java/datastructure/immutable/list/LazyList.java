@@ -0,0 +1,469 @@
+package datastructure.immutable.list;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+
+/*
+    Evaluated state of a LazyList: either the empty cell or a head and a (lazy) tail
+ */
+class Cell<A> {
+    static final Cell<?> EMPTY = new Cell<>(null, null);
+
+    final A head;
+    final LazyList<A> tail;
+
+    Cell(A head, LazyList<A> tail) {
+        this.head = head;
+        this.tail = tail;
+    }
+}
+
+
+/*
+    LazyList functionality
+ */
+interface ILazyList<A> extends Iterable<A> {
+    boolean isEmpty();
+    A head();
+    LazyList<A> tail();
+    Optional<A> get(int index);
+    <B> LazyList<B> map(Function<A, B> f);
+    LazyList<A> filter(Predicate<A> predicate);
+    <B> LazyList<B> flatMap(Function<A, LazyList<B>> f);
+    LazyList<A> take(int count);
+    LazyList<A> takeWhile(Predicate<A> predicate);
+    LazyList<A> drop(int count);
+    LazyList<A> dropWhile(Predicate<A> predicate);
+    LazyList<A> concat(LazyList<A> that);
+    <B> LazyList<Map.Entry<A, B>> zip(LazyList<B> that);
+    <B, C> LazyList<C> zipWith(LazyList<B> that, BiFunction<A, B, C> f);
+    void traverse(Consumer<A> consumer);
+    <B> B foldLeft(B zero, BiFunction<B, A, B> f);
+    int size();
+    LinkedList<A> toLinkedList();
+}
+
+
+/*
+    Lazily evaluated, memoized immutable list
+
+    Nothing is computed until a terminal operation (traverse, foldLeft, head, ...) asks for an element,
+    and each element is computed at most once
+    An unevaluated list is either a thunk or a stage (map, filter, take, takeWhile) over the list it comes from:
+    a stage reads the memoized cells of its source, so several lists derived from the same one share its elements,
+    and it moves its source pointer forward over the elements it filters out
+    Terminal operations walk the list with a cursor, so already visited elements can be garbage collected
+    as long as the caller does not keep a reference to the head
+ */
+public class LazyList<A> implements ILazyList<A> {
+
+    /*
+        Markers returned by a fused stage: the element is filtered out / the list ends here
+     */
+    private static final Object SKIP = new Object();
+    private static final Object STOP = new Object();
+
+    private static final LazyList<?> empty = new LazyList<>((Cell<Object>) Cell.EMPTY);
+
+    private volatile Cell<A> cell;
+    private Supplier<Cell<A>> thunk;
+    private LazyList<Object> source;
+    private Function<Object, Object> stage;
+
+    private LazyList(Cell<A> cell) {
+        this.cell = cell;
+    }
+
+    private LazyList(Supplier<Cell<A>> thunk) {
+        this.thunk = thunk;
+    }
+
+    private LazyList(LazyList<Object> source, Function<Object, Object> stage) {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    public static <B> LazyList<B> empty() {
+        return (LazyList<B>) empty;
+    }
+
+    /*
+        Initializes a LazyList from already known elements
+     */
+    public static <B> LazyList<B> of(B... items) {
+        LazyList<B> list = empty();
+
+        for(int i = items.length - 1; i >= 0; i--) {
+            list = new LazyList<>(new Cell<>(items[i], list));
+        }
+
+        return list;
+    }
+
+    /*
+        Wraps an immutable LinkedList, its nodes are read on demand
+     */
+    public static <B> LazyList<B> from(LinkedList<B> list) {
+        return new LazyList<>(() -> list.isEmpty() ? emptyCell() : new Cell<>(list.head(), from(list.tail())));
+    }
+
+    /*
+        Infinite list seed, f(seed), f(f(seed)), ...
+     */
+    public static <B> LazyList<B> iterate(B seed, UnaryOperator<B> f) {
+        return new LazyList<>(() -> new Cell<>(seed, new LazyList<>(() -> iterate(f.apply(seed), f).force())));
+    }
+
+    /*
+        Infinite list of the values returned by the supplier
+     */
+    public static <B> LazyList<B> generate(Supplier<B> supplier) {
+        return new LazyList<>(() -> new Cell<>(supplier.get(), generate(supplier)));
+    }
+
+    /*
+        returns true if the list is empty, evaluates the first element
+    */
+    @Override
+    public boolean isEmpty() {
+        return force() == Cell.EMPTY;
+    }
+
+    /*
+        Returns the first element in the list
+    */
+    @Override
+    public A head() {
+        Cell<A> current = force();
+
+        if(current == Cell.EMPTY) throw new NoSuchElementException("List is empty");
+
+        return current.head;
+    }
+
+    /*
+        Returns the list elements without the head (first element)
+    */
+    @Override
+    public LazyList<A> tail() {
+        Cell<A> current = force();
+
+        if(current == Cell.EMPTY) throw new NoSuchElementException("List is empty");
+
+        return current.tail;
+    }
+
+    /*
+        Gets an element at index, evaluating the elements before it
+    */
+    @Override
+    public Optional<A> get(int index) {
+        if(index < 0) throw new IndexOutOfBoundsException();
+
+        Cell<A> current = force();
+
+        while(index-- > 0 && current != Cell.EMPTY) current = current.tail.force();
+
+        if(current == Cell.EMPTY) throw new IndexOutOfBoundsException();
+
+        return Optional.ofNullable(current.head);
+    }
+
+    /*
+        Applies f to each element when it is evaluated
+    */
+    @Override
+    public <B> LazyList<B> map(Function<A, B> f) {
+        return stage(value -> f.apply((A) value));
+    }
+
+    /*
+        Keeps the elements for which the predicate is true
+    */
+    @Override
+    public LazyList<A> filter(Predicate<A> predicate) {
+        return stage(value -> predicate.test((A) value) ? value : SKIP);
+    }
+
+    /*
+        Replaces each element by the elements of the list returned by f
+    */
+    @Override
+    public <B> LazyList<B> flatMap(Function<A, LazyList<B>> f) {
+        return new LazyList<>(() -> {
+            Cell<A> current = force();
+
+            while(current != Cell.EMPTY) {
+                Cell<B> inner = f.apply(current.head).force();
+
+                if(inner != Cell.EMPTY) return new Cell<>(inner.head, inner.tail.concat(current.tail.flatMap(f)));
+
+                current = current.tail.force();
+            }
+
+            return emptyCell();
+        });
+    }
+
+    /*
+        Keeps the first count elements, the source is not read after the last of them
+    */
+    @Override
+    public LazyList<A> take(int count) {
+        if(count <= 0) return empty();
+
+        return stage(new Take(count));
+    }
+
+    /*
+        Keeps the elements while the condition evaluates to true
+    */
+    @Override
+    public LazyList<A> takeWhile(Predicate<A> predicate) {
+        return stage(value -> predicate.test((A) value) ? value : STOP);
+    }
+
+    /*
+        Drops n elements from the beginning of the list when it is evaluated
+    */
+    @Override
+    public LazyList<A> drop(int count) {
+        if(count <= 0) return this;
+
+        return new LazyList<>(() -> {
+            Cell<A> current = force();
+            int remaining = count;
+
+            while(remaining-- > 0 && current != Cell.EMPTY) current = current.tail.force();
+
+            return current;
+        });
+    }
+
+    /*
+        Drops the elements while the condition evaluates to true, when the list is evaluated
+    */
+    @Override
+    public LazyList<A> dropWhile(Predicate<A> predicate) {
+        return new LazyList<>(() -> {
+            Cell<A> current = force();
+
+            while(current != Cell.EMPTY && predicate.test(current.head)) current = current.tail.force();
+
+            return current;
+        });
+    }
+
+    /*
+        Adds "that" list after this one
+    */
+    @Override
+    public LazyList<A> concat(LazyList<A> that) {
+        return new LazyList<>(() -> {
+            Cell<A> current = force();
+
+            return current == Cell.EMPTY ? that.force() : new Cell<>(current.head, current.tail.concat(that));
+        });
+    }
+
+    /*
+        Pairs the elements of both lists, stops at the end of the shorter one
+    */
+    @Override
+    public <B> LazyList<Map.Entry<A, B>> zip(LazyList<B> that) {
+        return zipWith(that, AbstractMap.SimpleImmutableEntry::new);
+    }
+
+    /*
+        Combines the elements of both lists with f, stops at the end of the shorter one
+    */
+    @Override
+    public <B, C> LazyList<C> zipWith(LazyList<B> that, BiFunction<A, B, C> f) {
+        return new LazyList<>(() -> {
+            Cell<A> left = force();
+            Cell<B> right = that.force();
+
+            if(left == Cell.EMPTY || right == Cell.EMPTY) return emptyCell();
+
+            return new Cell<>(f.apply(left.head, right.head), left.tail.zipWith(right.tail, f));
+        });
+    }
+
+    /*
+        Apply a consumer on each element, evaluating the whole list
+    */
+    @Override
+    public void traverse(Consumer<A> consumer) {
+        Cell<A> current = force();
+
+        while(current != Cell.EMPTY) {
+            consumer.accept(current.head);
+            current = current.tail.force();
+        }
+    }
+
+    /*
+        Combines the elements from the first to the last, evaluating the whole list
+    */
+    @Override
+    public <B> B foldLeft(B zero, BiFunction<B, A, B> f) {
+        B accumulator = zero;
+        Cell<A> current = force();
+
+        while(current != Cell.EMPTY) {
+            accumulator = f.apply(accumulator, current.head);
+            current = current.tail.force();
+        }
+
+        return accumulator;
+    }
+
+    /*
+        Returns the number of elements, evaluating the whole list
+    */
+    @Override
+    public int size() {
+        return foldLeft(0, (count, value) -> count + 1);
+    }
+
+    /*
+        Evaluates the whole list into an immutable LinkedList
+    */
+    @Override
+    public LinkedList<A> toLinkedList() {
+        LinkedList.Builder<A> builder = LinkedList.builder();
+        traverse(builder::add);
+        return builder.build();
+    }
+
+    /*
+        Iterates the elements, evaluating them one at a time
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            LazyList<A> cursor = LazyList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !cursor.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                A value = cursor.head();
+                cursor = cursor.tail();
+                return value;
+            }
+        };
+    }
+
+    /*
+        Shows the evaluated elements only, "?" stands for the part that is not evaluated yet
+    */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "LazyList(", ")");
+        Cell<A> current = cell;
+
+        while(current != null && current != Cell.EMPTY) {
+            joiner.add(String.valueOf(current.head));
+            current = current.tail.cell;
+        }
+
+        if(current == null) joiner.add("?");
+
+        return joiner.toString();
+    }
+
+    /*
+        Evaluates the first cell once and remembers it
+        The thunk or stage is released after evaluation so it does not retain its inputs
+    */
+    Cell<A> force() {
+        Cell<A> current = cell;
+        if(current != null) return current;
+
+        synchronized(this) {
+            if(cell == null) {
+                cell = source != null ? runStage() : thunk.get();
+                thunk = null;
+            }
+
+            return cell;
+        }
+    }
+
+    /*
+        Pulls elements from the source until the stage produces one
+        source is moved forward while elements are skipped, so they can be garbage collected
+    */
+    private Cell<A> runStage() {
+        Cell<Object> current;
+
+        while(!(stage instanceof Take && ((Take) stage).ended()) && (current = source.force()) != Cell.EMPTY) {
+            Object value = stage.apply(current.head);
+
+            if(value == STOP) break;
+
+            if(value != SKIP) {
+                Cell<A> result = new Cell<>((A) value, new LazyList<>(current.tail, stage));
+                source = null;
+                stage = null;
+                return result;
+            }
+
+            source = current.tail;
+        }
+
+        source = null;
+        stage = null;
+        return emptyCell();
+    }
+
+    /*
+        Adds a stage over this list
+        Stages are not composed with the pending stage of this list: the composed function would read the source
+        of this list directly and compute its elements a second time if this list is evaluated too
+    */
+    private <B> LazyList<B> stage(Function<Object, Object> next) {
+        return new LazyList<>((LazyList<Object>) this, next);
+    }
+
+    /*
+        Stage of take: lets count elements through, then ends the list without reading its source again
+        The lists of a stage are evaluated one after the other (each one creates the next), so it can count
+    */
+    private static final class Take implements Function<Object, Object> {
+        private int remaining;
+
+        Take(int count) {
+            this.remaining = count;
+        }
+
+        @Override
+        public Object apply(Object value) {
+            remaining--;
+            return value;
+        }
+
+        boolean ended() {
+            return remaining == 0;
+        }
+    }
+
+    private static <B> Cell<B> emptyCell() {
+        return (Cell<B>) Cell.EMPTY;
+    }
+}
@@ -1,14 +1,25 @@
 package datastructure.immutable.list;
 
 
+import datastructure.util.Trampoline;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /*
@@ -37,10 +48,11 @@ class Item<A> extends LinkedList<A> {
     }
 }
 
+
 /*
     LinkedList functionality
  */
-interface ILinkedList<A> {
+interface ILinkedList<A> extends Iterable<A> {
     boolean isEmpty();
     A head();
     LinkedList<A> tail();
@@ -56,6 +68,17 @@ interface ILinkedList<A> {
     LinkedList<A> append(A value);
     LinkedList<A> appendAll(LinkedList<A> that);
     LinkedList<A> delete(int index);
+    LinkedList<A> deleteAll(int... indices);
+    LinkedList<A> updated(int index, A value);
+    LinkedList<A> insertAt(int index, A value);
+    <B> LinkedList<B> map(Function<A, B> f);
+    LinkedList<A> filter(Predicate<A> predicate);
+    Map.Entry<LinkedList<A>, LinkedList<A>> partition(Predicate<A> predicate);
+    <B> B foldLeft(B zero, BiFunction<B, A, B> f);
+    <B> B foldRight(B zero, BiFunction<A, B, B> f);
+    Spliterator<A> spliterator();
+    Stream<A> stream();
+    Stream<A> parallelStream();
 }
 
 
@@ -71,17 +94,117 @@ public class LinkedList<A> implements ILinkedList<A> {
 
     /*
         Initializes LinkedList
-        Assign the first element to head
-        Recursively do same for the rest of the array
+        Walks the array from the end and prepends each element,
+        so construction is linear and does not recurse
      */
     public static <B> LinkedList<B> of(B... items){
-        if(items.length == 0) {
-           return nil;
+        LinkedList<B> list = nil;
+
+        for(int i = items.length - 1; i >= 0; i--) {
+            list = new Item<>(items[i], list);
         }
-        else {
-            B head = items[0];
-            B[] tail = (B[])Arrays.stream(items).skip(1).toArray();
-            return new Item<>(head, of(tail));
+
+        return list;
+    }
+
+    /*
+        Initializes LinkedList from any Iterable, preserving its iteration order
+     */
+    public static <B> LinkedList<B> fromIterable(Iterable<? extends B> items) {
+        Builder<B> builder = new Builder<>();
+        items.forEach(builder::add);
+        return builder.build();
+    }
+
+    /*
+        Initializes LinkedList from a Stream, preserving its encounter order
+     */
+    public static <B> LinkedList<B> fromStream(Stream<? extends B> items) {
+        return items.collect(collector());
+    }
+
+    /*
+        Collector that accumulates stream elements into a LinkedList
+        Partial results of parallel streams are concatenated in O(1)
+     */
+    public static <B> Collector<B, ?, LinkedList<B>> collector() {
+        return Collector.of(Builder<B>::new, Builder::add, Builder::addAll, Builder::build);
+    }
+
+    /*
+        Returns a new builder
+     */
+    public static <B> Builder<B> builder() {
+        return new Builder<>();
+    }
+
+    /*
+        Builds a LinkedList from front to back in O(1) per element
+        Items are linked by mutating the tail of the last item, which is safe
+        because none of them is reachable from outside before build() is called
+     */
+    public static class Builder<B> {
+        private Item<B> first;
+        private Item<B> last;
+
+        /*
+            Adds an element at the end of the list being built
+         */
+        public Builder<B> add(B value) {
+            Item<B> item = new Item<>(value, nil);
+
+            if(first == null) first = item;
+            else last.tl = item;
+
+            last = item;
+            return this;
+        }
+
+        /*
+            Moves the elements of "that" builder to the end of this one
+            "that" builder is left empty
+         */
+        public Builder<B> addAll(Builder<B> that) {
+            if(that.first == null) return this;
+
+            if(first == null) first = that.first;
+            else last.tl = that.first;
+
+            last = that.last;
+            that.first = that.last = null;
+            return this;
+        }
+
+        /*
+            Returns the built list and resets the builder
+         */
+        public LinkedList<B> build() {
+            return buildOnto(nil);
+        }
+
+        /*
+            Returns the built list followed by suffix and resets the builder
+            suffix is shared, not copied
+         */
+        public LinkedList<B> buildOnto(LinkedList<B> suffix) {
+            if(first == null) return suffix;
+
+            LinkedList<B> list = first;
+            last.tl = suffix;
+            first = last = null;
+            return list;
+        }
+
+        /*
+            Copies the elements of "from" up to (excluding) "until" to the end of the builder
+            until has to be a suffix of from
+         */
+        Builder<B> addUntil(LinkedList<B> from, LinkedList<B> until) {
+            for(LinkedList<B> cursor = from; cursor != until; cursor = cursor.tail()) {
+                add(cursor.head());
+            }
+
+            return this;
         }
     }
 
@@ -154,19 +277,17 @@ public class LinkedList<A> implements ILinkedList<A> {
 
     /*
         An example of recursive implementation
+        The recursion goes through a trampoline, so it does not grow the stack
     */
-    BiFunction<LinkedList<A>, Integer, Optional<A>> getRecursive;
-
     @Override
     public Optional<A> getRecursive(int index) {
+        return getRecursive(this, index).run();
+    }
 
-        getRecursive = (current, idx) -> {
-                if(idx < 0 || current.isNil()) throw new IndexOutOfBoundsException();
-                if(idx == 0) return Optional.ofNullable(current.head());
-                return getRecursive.apply(current.tail(), idx - 1);
-            };
-
-        return getRecursive.apply(this, index);
+    private static <B> Trampoline<Optional<B>> getRecursive(LinkedList<B> current, int index) {
+        if(index < 0 || current.isNil()) throw new IndexOutOfBoundsException();
+        if(index == 0) return Trampoline.done(Optional.ofNullable(current.head()));
+        return Trampoline.more(() -> getRecursive(current.tail(), index - 1));
     }
 
     /*
@@ -232,18 +353,11 @@ public class LinkedList<A> implements ILinkedList<A> {
 
     /*
         Adds "that" list at the beginning of current (this) list
+        "that" is copied once, the current list is shared
    */
     @Override
     public LinkedList<A> prependAll(LinkedList<A> that) {
-        LinkedList<A> list = this;
-        LinkedList<A> reversedThatCursor = that.reverse();
-
-        while(reversedThatCursor.isNotNil()){
-            list = list.prepend(reversedThatCursor.head());
-            reversedThatCursor = reversedThatCursor.tail();
-        }
-
-        return list;
+        return new Builder<A>().addUntil(that, nil).buildOnto(this);
     }
 
     /*
@@ -283,28 +397,207 @@ public class LinkedList<A> implements ILinkedList<A> {
      */
     @Override
     public LinkedList<A> delete(int index) {
-        LinkedList<A> cursor = this;
+        return deleteAll(index);
+    }
 
-        if(cursor.isNil() || index < 0)  throw new IndexOutOfBoundsException();
+    /*
+        Deletes the elements at the given indices in one pass
+        Only the elements before the last deleted index are copied, the rest of the list is shared
+     */
+    @Override
+    public LinkedList<A> deleteAll(int... indices) {
+        int[] sorted = Arrays.stream(indices).sorted().distinct().toArray();
 
-        LinkedList<A> accumulator = nil;
+        if(sorted.length == 0) return this;
+        if(sorted[0] < 0) throw new IndexOutOfBoundsException();
 
-        while(cursor.isNotNil() && index >= 0){
-            if(index == 0) {
-                accumulator = cursor.tail().prependAllReversed(accumulator);
-            }else{
-                accumulator = accumulator.prepend(cursor.head());
+        Builder<A> builder = new Builder<>();
+        LinkedList<A> cursor = this;
+        int position = 0;
+
+        for(int index : sorted) {
+            while(position < index && cursor.isNotNil()) {
+                builder.add(cursor.head());
                 cursor = cursor.tail();
+                position++;
             }
 
-            index--;
+            if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+            cursor = cursor.tail();
+            position++;
         }
 
-        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+        return builder.buildOnto(cursor);
+    }
+
+    /*
+        Replaces the element at index
+        Only the elements before index are copied, the rest of the list is shared
+     */
+    @Override
+    public LinkedList<A> updated(int index, A value) {
+        LinkedList<A> cursor = this.drop(index);
+
+        if(index < 0 || cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return new Builder<A>().addUntil(this, cursor).buildOnto(cursor.tail().prepend(value));
+    }
+
+    /*
+        Inserts value so that it ends up at index, index can be equal to the list size
+        Only the elements before index are copied, the rest of the list is shared
+     */
+    @Override
+    public LinkedList<A> insertAt(int index, A value) {
+        if(index < 0) throw new IndexOutOfBoundsException();
+
+        Builder<A> builder = new Builder<>();
+        LinkedList<A> cursor = this;
+
+        while(index-- > 0) {
+            if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+            builder.add(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        return builder.buildOnto(cursor.prepend(value));
+    }
+
+    /*
+        Apply function f to each element, in one pass without reversing
+     */
+    @Override
+    public <B> LinkedList<B> map(Function<A, B> f) {
+        Builder<B> builder = new Builder<>();
+        traverse(value -> builder.add(f.apply(value)));
+        return builder.build();
+    }
+
+    /*
+        Keeps the elements for which the predicate is true
+        The predicate is evaluated once per element
+        Kept elements are only copied when a dropped element follows them,
+        the part after the last dropped element is shared (this is returned if nothing is dropped)
+     */
+    @Override
+    public LinkedList<A> filter(Predicate<A> predicate) {
+        Builder<A> builder = new Builder<>();
+        LinkedList<A> keptFrom = this;
+        LinkedList<A> cursor = this;
+
+        while(cursor.isNotNil()) {
+            LinkedList<A> next = cursor.tail();
+
+            if(!predicate.test(cursor.head())) {
+                builder.addUntil(keptFrom, cursor);
+                keptFrom = next;
+            }
+
+            cursor = next;
+        }
+
+        return builder.buildOnto(keptFrom);
+    }
+
+    /*
+        Splits the list into the elements for which the predicate is true (key)
+        and the ones for which it is false (value)
+        Same as filter, each side shares the part of the list after its last dropped element
+     */
+    @Override
+    public Map.Entry<LinkedList<A>, LinkedList<A>> partition(Predicate<A> predicate) {
+        Builder<A> matching = new Builder<>();
+        Builder<A> rest = new Builder<>();
+        LinkedList<A> matchingFrom = this;
+        LinkedList<A> restFrom = this;
+        LinkedList<A> cursor = this;
+
+        while(cursor.isNotNil()) {
+            LinkedList<A> next = cursor.tail();
+
+            if(predicate.test(cursor.head())) {
+                rest.addUntil(restFrom, cursor);
+                restFrom = next;
+            } else {
+                matching.addUntil(matchingFrom, cursor);
+                matchingFrom = next;
+            }
+
+            cursor = next;
+        }
+
+        return new AbstractMap.SimpleImmutableEntry<>(matching.buildOnto(matchingFrom), rest.buildOnto(restFrom));
+    }
+
+    /*
+        Combines the elements from the first to the last
+     */
+    @Override
+    public <B> B foldLeft(B zero, BiFunction<B, A, B> f) {
+        B accumulator = zero;
+        LinkedList<A> cursor = this;
+
+        while(cursor.isNotNil()) {
+            accumulator = f.apply(accumulator, cursor.head());
+            cursor = cursor.tail();
+        }
 
         return accumulator;
     }
 
+    /*
+        Combines the elements from the last to the first
+        The elements are buffered in an array instead of recursing, so it is stack safe
+     */
+    @Override
+    public <B> B foldRight(B zero, BiFunction<A, B, B> f) {
+        ArrayList<A> buffer = new ArrayList<>();
+        traverse(buffer::add);
+
+        B accumulator = zero;
+
+        for(int i = buffer.size() - 1; i >= 0; i--) {
+            accumulator = f.apply(buffer.get(i), accumulator);
+        }
+
+        return accumulator;
+    }
+
+    /*
+        Iterates the elements from head to last
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /*
+        Returns an ordered, immutable spliterator
+        The size is unknown until the list is walked, so it is not SIZED
+    */
+    @Override
+    public Spliterator<A> spliterator() {
+        return new LinkedListSpliterator<>(this, -1);
+    }
+
+    /*
+        Returns a sequential stream of the list elements
+    */
+    @Override
+    public Stream<A> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /*
+        Returns a parallel stream of the list elements
+    */
+    @Override
+    public Stream<A> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     private Boolean isNil() {
         return this instanceof Nil;
     }
@@ -0,0 +1,95 @@
+package datastructure.immutable.list;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+
+/*
+    Spliterator over a LinkedList
+    Splits by copying batches of growing size into arrays, the same way java.util.LinkedList does,
+    so that parallel streams get work for other threads without knowing the list size upfront
+ */
+class LinkedListSpliterator<A> implements Spliterator<A> {
+    static final int BATCH_UNIT = 1 << 10;
+    static final int MAX_BATCH = 1 << 25;
+
+    private LinkedList<A> current;
+    private long estimate;
+    private int batch;
+    private final int characteristics;
+
+    /*
+        size is the number of elements when known, or a negative value otherwise
+     */
+    LinkedListSpliterator(LinkedList<A> list, long size) {
+        this.current = list;
+        this.estimate = size < 0 ? Long.MAX_VALUE : size;
+        this.characteristics = size < 0 ?
+                Spliterator.ORDERED | Spliterator.IMMUTABLE :
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super A> action) {
+        if(current.isEmpty()) return false;
+
+        A value = current.head();
+        current = current.tail();
+        if(estimate != Long.MAX_VALUE) estimate--;
+
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super A> action) {
+        LinkedList<A> cursor = current;
+        current = LinkedList.nil;
+        if(estimate != Long.MAX_VALUE) estimate = 0;
+
+        while(!cursor.isEmpty()) {
+            action.accept(cursor.head());
+            cursor = cursor.tail();
+        }
+    }
+
+    /*
+        Copies the next batch of elements into an array and hands them out as a separate spliterator
+        Each batch is BATCH_UNIT bigger than the previous one
+     */
+    @Override
+    public Spliterator<A> trySplit() {
+        LinkedList<A> cursor = current;
+
+        if(cursor.isEmpty() || estimate <= 1) return null;
+
+        int n = batch + BATCH_UNIT;
+        if(n > estimate) n = (int) estimate;
+        if(n > MAX_BATCH) n = MAX_BATCH;
+
+        Object[] items = new Object[n];
+        int j = 0;
+
+        do {
+            items[j++] = cursor.head();
+            cursor = cursor.tail();
+        } while(!cursor.isEmpty() && j < n);
+
+        current = cursor;
+        batch = j;
+        if(estimate != Long.MAX_VALUE) estimate -= j;
+
+        return Spliterators.spliterator(items, 0, j, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
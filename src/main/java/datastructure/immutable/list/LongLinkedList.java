@@ -0,0 +1,302 @@
+package datastructure.immutable.list;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Represents an empty LongLinkedList
+ */
+class LongNil extends LongLinkedList {
+
+    @Override
+    public String toString() {
+        return "Nil";
+    }
+}
+
+/*
+    Represents a non empty LongLinkedList, the element is stored unboxed
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+class LongItem extends LongLinkedList {
+    long hd;
+    LongLinkedList tl;
+
+    @Override
+    public String toString() {
+        return String.format("LongItem(%s, %s)", hd, tl);
+    }
+}
+
+/*
+    LongLinkedList functionality
+ */
+interface ILongLinkedList {
+    boolean isEmpty();
+    long head();
+    LongLinkedList tail();
+    void traverse(LongConsumer consumer);
+    OptionalLong get(int index);
+    LongLinkedList reverse();
+    LongLinkedList drop(int count);
+    LongLinkedList dropWhile(LongPredicate predicate);
+    LongLinkedList prepend(long value);
+    LongLinkedList prependAll(LongLinkedList that);
+    LongLinkedList prependAllReversed(LongLinkedList that);
+    LongLinkedList append(long value);
+    LongLinkedList appendAll(LongLinkedList that);
+    LongLinkedList delete(int index);
+    PrimitiveIterator.OfLong iterator();
+    LongStream stream();
+}
+
+
+/*
+    LongLinkedList implementation
+    Same as LinkedList but specialized for long elements, so nothing is boxed
+ */
+public class LongLinkedList implements ILongLinkedList {
+
+    /*
+        Only one Nil object is required
+     */
+    static LongNil nil = new LongNil();
+
+    /*
+        Initializes LongLinkedList
+        Walks the array from the end and prepends each element
+     */
+    public static LongLinkedList of(long... items){
+        LongLinkedList list = nil;
+
+        for(int i = items.length - 1; i >= 0; i--) {
+            list = new LongItem(items[i], list);
+        }
+
+        return list;
+    }
+
+    protected LongLinkedList(){}
+
+    /*
+        returns true if the list is empty
+   */
+    @Override
+    public boolean isEmpty() {
+        return isNil();
+    }
+
+    /*
+        Returns the first element in the list
+    */
+    @Override
+    public long head() {
+        if(isNil()){
+            throw new NoSuchElementException("List is empty");
+        }
+
+        return ((LongItem)this).hd;
+    }
+
+    /*
+        Returns the list elements without the head (first element)
+    */
+    @Override
+    public LongLinkedList tail() {
+        if(isNil()){
+            throw new NoSuchElementException("List is empty");
+        }
+
+        return ((LongItem)this).tl;
+    }
+
+    /*
+        Apply a consumer on each node
+   */
+    @Override
+    public void traverse(LongConsumer consumer) {
+
+        LongLinkedList cursor = this;
+
+        while(cursor.isNotNil()){
+            consumer.accept(cursor.head());
+            cursor = cursor.tail();
+        }
+    }
+
+    /*
+        Gets an element at index
+    */
+    @Override
+    public OptionalLong get(int index) {
+
+        LongLinkedList cursor = this;
+
+        if(index < 0) throw new IndexOutOfBoundsException();
+
+        while(index-- > 0 && cursor.isNotNil()) cursor = cursor.tail();
+
+        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return OptionalLong.of(cursor.head());
+    }
+
+    /*
+        Reverses the current(this) list
+   */
+    @Override
+    public LongLinkedList reverse() {
+        return nil.prependAllReversed(this);
+    }
+
+    /*
+        Drops n elements from the beginning of the current list (this)
+   */
+    @Override
+    public LongLinkedList drop(int count) {
+        LongLinkedList cursor = this;
+
+        while(cursor.isNotNil() && count-- > 0) {
+            cursor = cursor.tail();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Drops the elements from the current list (this) while the condition evaluates to true
+   */
+    @Override
+    public LongLinkedList dropWhile(LongPredicate predicate) {
+        LongLinkedList cursor = this;
+
+        while(cursor.isNotNil() && predicate.test(cursor.head())) {
+            cursor = cursor.tail();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Adds new element (value) at the beginning of the current list (this)
+    */
+    @Override
+    public LongLinkedList prepend(long value) {
+        return new LongItem(value, this);
+    }
+
+    /*
+        Adds "that" list at the beginning of current (this) list
+   */
+    @Override
+    public LongLinkedList prependAll(LongLinkedList that) {
+        return prependAllReversed(that.reverse());
+    }
+
+    /*
+       Adds reversed "that" list at the beginning of current (this) list
+  */
+    @Override
+    public LongLinkedList prependAllReversed(LongLinkedList that) {
+        LongLinkedList list = this;
+        LongLinkedList cursor = that;
+
+        while(cursor.isNotNil()){
+            list = list.prepend(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        return list;
+    }
+
+    /*
+        Adds an element in front of current list (this)
+   */
+    @Override
+    public LongLinkedList append(long value) {
+        return of(value).prependAll(this);
+    }
+
+    /*
+        Adds "that" list in front of current (this) list
+    */
+    @Override
+    public LongLinkedList appendAll(LongLinkedList that) {
+        return that.prependAll(this);
+    }
+
+    /*
+        Deletes element at index
+        The elements after index are shared with this list
+     */
+    @Override
+    public LongLinkedList delete(int index) {
+        LongLinkedList cursor = this;
+
+        if(cursor.isNil() || index < 0)  throw new IndexOutOfBoundsException();
+
+        LongLinkedList reversedPrefix = nil;
+
+        while(cursor.isNotNil() && index-- > 0){
+            reversedPrefix = reversedPrefix.prepend(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        if(cursor.isNil()) throw new IndexOutOfBoundsException();
+
+        return cursor.tail().prependAllReversed(reversedPrefix);
+    }
+
+    /*
+        Iterates the elements from head to last without boxing them
+    */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            LongLinkedList cursor = LongLinkedList.this;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.isNotNil();
+            }
+
+            @Override
+            public long nextLong() {
+                long value = cursor.head();
+                cursor = cursor.tail();
+                return value;
+            }
+        };
+    }
+
+    /*
+        Returns a sequential LongStream of the list elements
+    */
+    @Override
+    public LongStream stream() {
+        return StreamSupport.longStream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
+    }
+
+    private boolean isNil() {
+        return this instanceof LongNil;
+    }
+
+    private boolean isNotNil() {
+        return !isNil();
+    }
+}
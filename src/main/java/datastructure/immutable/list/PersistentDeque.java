@@ -0,0 +1,225 @@
+package datastructure.immutable.list;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Deque functionality
+ */
+interface IPersistentDeque<A> extends Iterable<A> {
+    boolean isEmpty();
+    int size();
+    A head();
+    A last();
+    PersistentDeque<A> tail();
+    PersistentDeque<A> init();
+    PersistentDeque<A> prepend(A value);
+    PersistentDeque<A> append(A value);
+    PersistentDeque<A> appendAll(LinkedList<A> that);
+    void traverse(Consumer<A> consumer);
+    LinkedList<A> toLinkedList();
+    Stream<A> stream();
+}
+
+
+/*
+    Persistent double ended queue (banker's deque)
+
+    The elements are kept in two immutable LinkedLists: front in order and rear in reverse order,
+    so both ends are the head of a list
+    Every operation goes through balance, which splits one side in half when the other one is empty:
+    a deque of two or more elements always has elements on both sides, so head and last are O(1)
+    and prepend, append, tail and init are amortized O(1)
+    (the amortization holds when each version is used once, as in a work queue)
+ */
+public class PersistentDeque<A> implements IPersistentDeque<A> {
+
+    /*
+        Only one empty deque is required
+     */
+    private static final PersistentDeque<?> empty = new PersistentDeque<>(LinkedList.nil, 0, LinkedList.nil, 0);
+
+    private final LinkedList<A> front;
+    private final int frontSize;
+    private final LinkedList<A> rear;
+    private final int rearSize;
+
+    private PersistentDeque(LinkedList<A> front, int frontSize, LinkedList<A> rear, int rearSize) {
+        this.front = front;
+        this.frontSize = frontSize;
+        this.rear = rear;
+        this.rearSize = rearSize;
+    }
+
+    public static <B> PersistentDeque<B> empty() {
+        return (PersistentDeque<B>) empty;
+    }
+
+    /*
+        Initializes PersistentDeque
+     */
+    public static <B> PersistentDeque<B> of(B... items) {
+        return from(LinkedList.of(items));
+    }
+
+    /*
+        Initializes PersistentDeque from a LinkedList in O(n)
+     */
+    public static <B> PersistentDeque<B> from(LinkedList<B> list) {
+        int size = list.foldLeft(0, (count, value) -> count + 1);
+        return balance(list, size, LinkedList.nil, 0);
+    }
+
+    /*
+        returns true if the deque is empty
+    */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /*
+        Returns the number of elements, O(1)
+    */
+    @Override
+    public int size() {
+        return frontSize + rearSize;
+    }
+
+    /*
+        Returns the first element
+    */
+    @Override
+    public A head() {
+        if(isEmpty()) throw new NoSuchElementException("Deque is empty");
+
+        return frontSize > 0 ? front.head() : rear.head();
+    }
+
+    /*
+        Returns the last element
+    */
+    @Override
+    public A last() {
+        if(isEmpty()) throw new NoSuchElementException("Deque is empty");
+
+        return rearSize > 0 ? rear.head() : front.head();
+    }
+
+    /*
+        Returns the deque without its first element (dequeue)
+    */
+    @Override
+    public PersistentDeque<A> tail() {
+        if(isEmpty()) throw new NoSuchElementException("Deque is empty");
+
+        if(frontSize == 0) return empty();
+
+        return balance(front.tail(), frontSize - 1, rear, rearSize);
+    }
+
+    /*
+        Returns the deque without its last element
+    */
+    @Override
+    public PersistentDeque<A> init() {
+        if(isEmpty()) throw new NoSuchElementException("Deque is empty");
+
+        if(rearSize == 0) return empty();
+
+        return balance(front, frontSize, rear.tail(), rearSize - 1);
+    }
+
+    /*
+        Adds an element at the beginning, amortized O(1)
+    */
+    @Override
+    public PersistentDeque<A> prepend(A value) {
+        return balance(front.prepend(value), frontSize + 1, rear, rearSize);
+    }
+
+    /*
+        Adds an element at the end (enqueue), amortized O(1)
+    */
+    @Override
+    public PersistentDeque<A> append(A value) {
+        return balance(front, frontSize, rear.prepend(value), rearSize + 1);
+    }
+
+    /*
+        Adds the elements of "that" list at the end
+    */
+    @Override
+    public PersistentDeque<A> appendAll(LinkedList<A> that) {
+        return balance(front, frontSize, rear.prependAllReversed(that), rearSize + that.foldLeft(0, (count, value) -> count + 1));
+    }
+
+    /*
+        Apply a consumer on each element from first to last
+    */
+    @Override
+    public void traverse(Consumer<A> consumer) {
+        front.traverse(consumer);
+        rear.reverse().traverse(consumer);
+    }
+
+    /*
+        Converts to an immutable LinkedList, the front list is copied and the reversed rear is attached to it
+    */
+    @Override
+    public LinkedList<A> toLinkedList() {
+        return rear.reverse().prependAll(front);
+    }
+
+    /*
+        Iterates the elements from first to last
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return toLinkedList().iterator();
+    }
+
+    /*
+        Returns a sequential, sized stream of the elements
+    */
+    @Override
+    public Stream<A> stream() {
+        return StreamSupport.stream(new LinkedListSpliterator<>(toLinkedList(), size()), false);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "Deque(", ")");
+        traverse(value -> joiner.add(String.valueOf(value)));
+        return joiner.toString();
+    }
+
+    /*
+        Splits one side in half when the other one is empty and it holds at least two elements
+        Only the deque with an empty side is split: a deque of one element, or one left by tail, init or appendAll
+     */
+    private static <B> PersistentDeque<B> balance(LinkedList<B> front, int frontSize, LinkedList<B> rear, int rearSize) {
+        if(frontSize == 0 && rearSize >= 2) {
+            int keep = rearSize / 2;
+            LinkedList<B> moved = rear.drop(keep);
+            LinkedList<B> kept = new LinkedList.Builder<B>().addUntil(rear, moved).build();
+
+            return new PersistentDeque<>(moved.reverse(), rearSize - keep, kept, keep);
+        }
+
+        if(rearSize == 0 && frontSize >= 2) {
+            int keep = frontSize / 2;
+            LinkedList<B> moved = front.drop(keep);
+            LinkedList<B> kept = new LinkedList.Builder<B>().addUntil(front, moved).build();
+
+            return new PersistentDeque<>(kept, keep, moved.reverse(), frontSize - keep);
+        }
+
+        return new PersistentDeque<>(front, frontSize, rear, rearSize);
+    }
+}
@@ -0,0 +1,512 @@
+package datastructure.immutable.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Vector functionality
+ */
+interface IPersistentVector<A> extends Iterable<A> {
+    boolean isEmpty();
+    int size();
+    A head();
+    PersistentVector<A> tail();
+    void traverse(Consumer<A> consumer);
+    Optional<A> get(int index);
+    PersistentVector<A> updated(int index, A value);
+    PersistentVector<A> reverse();
+    PersistentVector<A> take(int count);
+    PersistentVector<A> drop(int count);
+    PersistentVector<A> dropWhile(Predicate<A> predicate);
+    PersistentVector<A> prepend(A value);
+    PersistentVector<A> prependAll(PersistentVector<A> that);
+    PersistentVector<A> append(A value);
+    PersistentVector<A> appendAll(PersistentVector<A> that);
+    PersistentVector<A> delete(int index);
+    LinkedList<A> toLinkedList();
+    Stream<A> stream();
+}
+
+
+/*
+    Persistent vector implementation (bit-partitioned trie with 32 way branching)
+
+    Elements live in "physical" slots [start, end) of the trie
+    The last (up to 32) slots are kept outside the trie in the tail array, so append only copies the tail
+    most of the time and pushes a full tail into the trie once every 32 appends
+    Slots below start are free: tail/drop only move start forward, and prepend fills them back
+    If there are no free slots left, prepend rebuilds the vector with as many free slots as elements,
+    which keeps it amortized O(1)
+ */
+public class PersistentVector<A> implements IPersistentVector<A> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /*
+        drop() rebuilds the vector when this many free slots are left in front of the elements
+        and the free slots outnumber the elements twice, so queues do not retain their history
+     */
+    private static final int COMPACTION_THRESHOLD = WIDTH * WIDTH;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    /*
+        Only one empty vector is required
+     */
+    private static final PersistentVector<?> empty = new PersistentVector<>(EMPTY_NODE, new Object[0], BITS, 0, 0);
+
+    private final Object[] root;
+    private final Object[] tail;
+    private final int shift;
+    private final int start;
+    private final int end;
+
+    private PersistentVector(Object[] root, Object[] tail, int shift, int start, int end) {
+        this.root = root;
+        this.tail = tail;
+        this.shift = shift;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static <B> PersistentVector<B> empty() {
+        return (PersistentVector<B>) empty;
+    }
+
+    /*
+        Initializes PersistentVector in O(n) by filling the trie level by level
+     */
+    public static <B> PersistentVector<B> of(B... items) {
+        return build(Arrays.copyOf(items, items.length, Object[].class), items.length, 0);
+    }
+
+    /*
+        Initializes PersistentVector from any Iterable, preserving its iteration order
+     */
+    public static <B> PersistentVector<B> fromIterable(Iterable<? extends B> items) {
+        ArrayList<B> buffer = new ArrayList<>();
+        items.forEach(buffer::add);
+        return build(buffer.toArray(), buffer.size(), 0);
+    }
+
+    /*
+        Builds a vector whose slots [start, count) hold the elements of slots
+     */
+    private static <B> PersistentVector<B> build(Object[] slots, int count, int start) {
+        if(count == start) return empty();
+
+        int tailOffset = tailOffset(count);
+        Object[] tail = Arrays.copyOfRange(slots, tailOffset, count);
+
+        int leaves = tailOffset >>> BITS;
+        if(leaves == 0) return new PersistentVector<>(EMPTY_NODE, tail, BITS, start, count);
+
+        Object[] level = new Object[leaves];
+        for(int i = 0; i < leaves; i++) {
+            level[i] = Arrays.copyOfRange(slots, i << BITS, (i + 1) << BITS);
+        }
+
+        int shift = BITS;
+
+        while(level.length > WIDTH) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+
+            for(int i = 0; i < parents.length; i++) {
+                Object[] node = new Object[WIDTH];
+                System.arraycopy(level, i << BITS, node, 0, Math.min(WIDTH, level.length - (i << BITS)));
+                parents[i] = node;
+            }
+
+            level = parents;
+            shift += BITS;
+        }
+
+        Object[] root = Arrays.copyOf(level, WIDTH);
+        return new PersistentVector<>(root, tail, shift, start, count);
+    }
+
+    /*
+        Physical index of the first slot held by the tail of a vector with count slots
+     */
+    private static int tailOffset(int count) {
+        return count == 0 ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    /*
+        returns true if the vector is empty
+    */
+    @Override
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /*
+        Returns the number of elements, O(1)
+    */
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    /*
+        Returns the first element in the vector
+    */
+    @Override
+    public A head() {
+        if(isEmpty()) throw new NoSuchElementException("Vector is empty");
+
+        return slot(start);
+    }
+
+    /*
+        Returns the vector without its first element, O(1)
+    */
+    @Override
+    public PersistentVector<A> tail() {
+        if(isEmpty()) throw new NoSuchElementException("Vector is empty");
+
+        return drop(1);
+    }
+
+    /*
+        Apply a consumer on each element, one leaf array at a time
+    */
+    @Override
+    public void traverse(Consumer<A> consumer) {
+        int physical = start;
+
+        while(physical < end) {
+            Object[] leaf = leafFor(physical);
+            int limit = Math.min(end - (physical & ~MASK), leaf.length);
+
+            for(int i = physical & MASK; i < limit; i++) {
+                consumer.accept((A) leaf[i]);
+            }
+
+            physical = (physical & ~MASK) + limit;
+        }
+    }
+
+    /*
+        Gets an element at index, O(log32 n)
+    */
+    @Override
+    public Optional<A> get(int index) {
+        checkIndex(index);
+
+        return Optional.ofNullable(slot(start + index));
+    }
+
+    /*
+        Replaces the element at index, copying only the path to its leaf
+    */
+    @Override
+    public PersistentVector<A> updated(int index, A value) {
+        checkIndex(index);
+
+        return assoc(start + index, value, start);
+    }
+
+    /*
+        Reverses the current(this) vector
+    */
+    @Override
+    public PersistentVector<A> reverse() {
+        Object[] slots = new Object[size()];
+        int[] i = {slots.length};
+
+        traverse(value -> slots[--i[0]] = value);
+
+        return build(slots, slots.length, 0);
+    }
+
+    /*
+        Keeps the first count elements
+        Only the new tail is copied, the trie is shared as is
+    */
+    @Override
+    public PersistentVector<A> take(int count) {
+        if(count >= size()) return this;
+        if(count <= 0) return empty();
+
+        int newEnd = start + count;
+        int newTailOffset = tailOffset(newEnd);
+        Object[] newTail = Arrays.copyOf(leafFor(newTailOffset), newEnd - newTailOffset);
+
+        return new PersistentVector<>(root, newTail, shift, start, newEnd);
+    }
+
+    /*
+        Drops n elements from the beginning of the current vector (this)
+    */
+    @Override
+    public PersistentVector<A> drop(int count) {
+        if(count <= 0) return this;
+        if(count >= size()) return empty();
+
+        int newStart = start + count;
+
+        if(newStart >= COMPACTION_THRESHOLD && newStart > 2 * (end - newStart)) {
+            return build(slots(newStart, 0), end - newStart, 0);
+        }
+
+        return new PersistentVector<>(root, tail, shift, newStart, end);
+    }
+
+    /*
+        Drops the elements from the current vector (this) while the condition evaluates to true
+    */
+    @Override
+    public PersistentVector<A> dropWhile(Predicate<A> predicate) {
+        int count = 0;
+
+        while(start + count < end && predicate.test(slot(start + count))) count++;
+
+        return drop(count);
+    }
+
+    /*
+        Adds new element (value) at the beginning of the current vector (this)
+        Fills the free slot in front of the elements, or rebuilds with free slots if there is none
+    */
+    @Override
+    public PersistentVector<A> prepend(A value) {
+        if(start > 0) return assoc(start - 1, value, start - 1);
+
+        int headroom = Math.max(WIDTH, size());
+        Object[] slots = slots(start, headroom);
+        slots[headroom - 1] = value;
+
+        return build(slots, slots.length, headroom - 1);
+    }
+
+    /*
+        Adds "that" vector at the beginning of current (this) vector
+    */
+    @Override
+    public PersistentVector<A> prependAll(PersistentVector<A> that) {
+        PersistentVector<A> vector = this;
+
+        for(int i = that.size() - 1; i >= 0; i--) {
+            vector = vector.prepend(that.slot(that.start + i));
+        }
+
+        return vector;
+    }
+
+    /*
+        Adds an element at the end of current vector (this)
+    */
+    @Override
+    public PersistentVector<A> append(A value) {
+        if(end - tailOffset(end) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(root, newTail, shift, start, end + 1);
+        }
+
+        Object[] newRoot;
+        int newShift = shift;
+
+        if((end >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+
+        return new PersistentVector<>(newRoot, new Object[]{value}, newShift, start, end + 1);
+    }
+
+    /*
+        Adds "that" vector at the end of current (this) vector
+    */
+    @Override
+    public PersistentVector<A> appendAll(PersistentVector<A> that) {
+        PersistentVector<A> vector = this;
+
+        for(int i = 0; i < that.size(); i++) {
+            vector = vector.append(that.slot(that.start + i));
+        }
+
+        return vector;
+    }
+
+    /*
+        Deletes element at index
+    */
+    @Override
+    public PersistentVector<A> delete(int index) {
+        checkIndex(index);
+
+        if(index == 0) return drop(1);
+        if(index == size() - 1) return take(index);
+
+        Object[] slots = slots(start, 0);
+        System.arraycopy(slots, index + 1, slots, index, slots.length - index - 1);
+
+        return build(slots, slots.length - 1, 0);
+    }
+
+    /*
+        Converts to an immutable LinkedList in O(n)
+    */
+    @Override
+    public LinkedList<A> toLinkedList() {
+        LinkedList.Builder<A> builder = LinkedList.builder();
+        traverse(builder::add);
+        return builder.build();
+    }
+
+    /*
+        Iterates the elements from first to last
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            int physical = start;
+            Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return physical < end;
+            }
+
+            @Override
+            public A next() {
+                if(physical >= end) throw new NoSuchElementException();
+
+                if(leaf == null || (physical & MASK) == 0) leaf = leafFor(physical);
+
+                return (A) leaf[physical++ & MASK];
+            }
+        };
+    }
+
+    /*
+        Returns an ordered, immutable and sized spliterator
+    */
+    @Override
+    public Spliterator<A> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /*
+        Returns a sequential stream of the vector elements
+    */
+    @Override
+    public Stream<A> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "Vector(", ")");
+        traverse(value -> joiner.add(String.valueOf(value)));
+        return joiner.toString();
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+    }
+
+    private A slot(int physical) {
+        return (A) leafFor(physical)[physical & MASK];
+    }
+
+    /*
+        Returns the leaf array holding the physical slot
+    */
+    private Object[] leafFor(int physical) {
+        if(physical >= tailOffset(end)) return tail;
+
+        Object[] node = root;
+
+        for(int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(physical >>> level) & MASK];
+        }
+
+        return node;
+    }
+
+    /*
+        Copies the slots [from, end) into a new array, leaving headroom free slots in front
+    */
+    private Object[] slots(int from, int headroom) {
+        Object[] slots = new Object[headroom + end - from];
+        Object[] leaf = null;
+
+        for(int physical = from; physical < end; physical++) {
+            if(leaf == null || (physical & MASK) == 0) leaf = leafFor(physical);
+            slots[headroom + physical - from] = leaf[physical & MASK];
+        }
+
+        return slots;
+    }
+
+    /*
+        Sets the physical slot, copying the path from the root to its leaf
+    */
+    private PersistentVector<A> assoc(int physical, A value, int newStart) {
+        if(physical >= tailOffset(end)) {
+            Object[] newTail = tail.clone();
+            newTail[physical & MASK] = value;
+            return new PersistentVector<>(root, newTail, shift, newStart, end);
+        }
+
+        return new PersistentVector<>(doAssoc(shift, root, physical, value), tail, shift, newStart, end);
+    }
+
+    private static Object[] doAssoc(int level, Object[] node, int physical, Object value) {
+        Object[] copy = node.clone();
+
+        if(level == 0) {
+            copy[physical & MASK] = value;
+        } else {
+            int index = (physical >>> level) & MASK;
+            copy[index] = doAssoc(level - BITS, (Object[]) node[index], physical, value);
+        }
+
+        return copy;
+    }
+
+    /*
+        Inserts a full tail as the rightmost leaf of the trie
+    */
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int index = ((end - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+
+        if(level == BITS) {
+            copy[index] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[index];
+            copy[index] = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if(level == 0) return node;
+
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+}
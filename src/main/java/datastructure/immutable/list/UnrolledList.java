@@ -0,0 +1,559 @@
+package datastructure.immutable.list;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+
+/*
+    Node of an unrolled list holding several elements
+    Slots are filled from the back to the front, the slots [low, capacity) are taken
+    A list (chunk, offset) sees the slots [offset, capacity) followed by the list next
+ */
+abstract class Chunk {
+
+    private static final AtomicIntegerFieldUpdater<Chunk> LOW = AtomicIntegerFieldUpdater.newUpdater(Chunk.class, "low");
+
+    volatile int low;
+    final UnrolledList<?> next;
+
+    Chunk(int low, UnrolledList<?> next) {
+        this.low = low;
+        this.next = next;
+    }
+
+    /*
+        Allocates a chunk able to store value, using a primitive array for Integer, Long and Double
+        The last slot is taken by value
+     */
+    static Chunk allocate(Object value, int capacity, UnrolledList<?> next) {
+        Chunk chunk;
+
+        if(value instanceof Integer) chunk = new IntChunk(new int[capacity], capacity - 1, next);
+        else if(value instanceof Long) chunk = new LongChunk(new long[capacity], capacity - 1, next);
+        else if(value instanceof Double) chunk = new DoubleChunk(new double[capacity], capacity - 1, next);
+        else chunk = new ObjectChunk(new Object[capacity], capacity - 1, next);
+
+        chunk.set(capacity - 1, value);
+        return chunk;
+    }
+
+    /*
+        Reserves the free slot in front of offset
+        Only the first list prepending to this chunk at offset gets the slot, the others have to allocate
+     */
+    boolean claim(int offset) {
+        return offset > 0 && LOW.compareAndSet(this, offset, offset - 1);
+    }
+
+    abstract int capacity();
+    abstract boolean accepts(Object value);
+    abstract Object get(int index);
+    abstract void set(int index, Object value);
+}
+
+class ObjectChunk extends Chunk {
+    final Object[] items;
+
+    ObjectChunk(Object[] items, int low, UnrolledList<?> next) {
+        super(low, next);
+        this.items = items;
+    }
+
+    @Override
+    int capacity() { return items.length; }
+
+    @Override
+    boolean accepts(Object value) { return true; }
+
+    @Override
+    Object get(int index) { return items[index]; }
+
+    @Override
+    void set(int index, Object value) { items[index] = value; }
+}
+
+class IntChunk extends Chunk {
+    final int[] items;
+
+    IntChunk(int[] items, int low, UnrolledList<?> next) {
+        super(low, next);
+        this.items = items;
+    }
+
+    @Override
+    int capacity() { return items.length; }
+
+    @Override
+    boolean accepts(Object value) { return value instanceof Integer; }
+
+    @Override
+    Object get(int index) { return items[index]; }
+
+    @Override
+    void set(int index, Object value) { items[index] = (Integer) value; }
+}
+
+class LongChunk extends Chunk {
+    final long[] items;
+
+    LongChunk(long[] items, int low, UnrolledList<?> next) {
+        super(low, next);
+        this.items = items;
+    }
+
+    @Override
+    int capacity() { return items.length; }
+
+    @Override
+    boolean accepts(Object value) { return value instanceof Long; }
+
+    @Override
+    Object get(int index) { return items[index]; }
+
+    @Override
+    void set(int index, Object value) { items[index] = (Long) value; }
+}
+
+class DoubleChunk extends Chunk {
+    final double[] items;
+
+    DoubleChunk(double[] items, int low, UnrolledList<?> next) {
+        super(low, next);
+        this.items = items;
+    }
+
+    @Override
+    int capacity() { return items.length; }
+
+    @Override
+    boolean accepts(Object value) { return value instanceof Double; }
+
+    @Override
+    Object get(int index) { return items[index]; }
+
+    @Override
+    void set(int index, Object value) { items[index] = (Double) value; }
+}
+
+
+/*
+    UnrolledList functionality
+ */
+interface IUnrolledList<A> extends Iterable<A> {
+    boolean isEmpty();
+    int size();
+    A head();
+    UnrolledList<A> tail();
+    void traverse(Consumer<A> consumer);
+    Optional<A> get(int index);
+    UnrolledList<A> reverse();
+    UnrolledList<A> drop(int count);
+    UnrolledList<A> dropWhile(Predicate<A> predicate);
+    UnrolledList<A> prepend(A value);
+    UnrolledList<A> prependAll(UnrolledList<A> that);
+    UnrolledList<A> prependAllReversed(UnrolledList<A> that);
+    UnrolledList<A> append(A value);
+    UnrolledList<A> appendAll(UnrolledList<A> that);
+    UnrolledList<A> delete(int index);
+    LinkedList<A> toLinkedList();
+}
+
+
+/*
+    Unrolled immutable list implementation
+    Each chunk stores up to MAX_CHUNK elements in one array, so the per element overhead of a node
+    is paid once per chunk, and Integer, Long and Double elements are stored unboxed
+
+    prepend keeps structural sharing: the new element goes into the free slot in front of the first chunk
+    when this list is the first one to claim it, otherwise a new chunk pointing to this list is allocated
+ */
+public class UnrolledList<A> implements IUnrolledList<A> {
+
+    static final int MIN_CHUNK = 4;
+    static final int MAX_CHUNK = 64;
+
+    /*
+        Only one empty list is required
+     */
+    private static final UnrolledList<?> empty = new UnrolledList<>(null, 0);
+
+    private final Chunk chunk;
+    private final int offset;
+
+    private UnrolledList(Chunk chunk, int offset) {
+        this.chunk = chunk;
+        this.offset = offset;
+    }
+
+    public static <B> UnrolledList<B> empty() {
+        return (UnrolledList<B>) empty;
+    }
+
+    /*
+        Initializes UnrolledList, chunks double in size up to MAX_CHUNK
+        Integer, Long and Double elements go into primitive chunks
+     */
+    public static <B> UnrolledList<B> of(B... items) {
+        Prepender<B> prepender = new Prepender<>(empty());
+
+        for(int i = items.length - 1; i >= 0; i--) {
+            prepender.add(items[i]);
+        }
+
+        return prepender.result();
+    }
+
+    /*
+        Initializes UnrolledList with unboxed int chunks
+     */
+    public static UnrolledList<Integer> ofInts(int... items) {
+        UnrolledList<Integer> list = empty();
+
+        for(int end = items.length; end > 0; end -= MAX_CHUNK) {
+            int length = Math.min(MAX_CHUNK, end);
+            int[] chunk = new int[length];
+            System.arraycopy(items, end - length, chunk, 0, length);
+            list = new UnrolledList<>(new IntChunk(chunk, 0, list), 0);
+        }
+
+        return list;
+    }
+
+    /*
+        Initializes UnrolledList with unboxed long chunks
+     */
+    public static UnrolledList<Long> ofLongs(long... items) {
+        UnrolledList<Long> list = empty();
+
+        for(int end = items.length; end > 0; end -= MAX_CHUNK) {
+            int length = Math.min(MAX_CHUNK, end);
+            long[] chunk = new long[length];
+            System.arraycopy(items, end - length, chunk, 0, length);
+            list = new UnrolledList<>(new LongChunk(chunk, 0, list), 0);
+        }
+
+        return list;
+    }
+
+    /*
+        Initializes UnrolledList with unboxed double chunks
+     */
+    public static UnrolledList<Double> ofDoubles(double... items) {
+        UnrolledList<Double> list = empty();
+
+        for(int end = items.length; end > 0; end -= MAX_CHUNK) {
+            int length = Math.min(MAX_CHUNK, end);
+            double[] chunk = new double[length];
+            System.arraycopy(items, end - length, chunk, 0, length);
+            list = new UnrolledList<>(new DoubleChunk(chunk, 0, list), 0);
+        }
+
+        return list;
+    }
+
+    /*
+        Initializes UnrolledList from a LinkedList
+     */
+    public static <B> UnrolledList<B> fromLinkedList(LinkedList<B> list) {
+        Prepender<B> prepender = new Prepender<>(empty());
+        list.reverse().traverse(prepender::add);
+        return prepender.result();
+    }
+
+    /*
+        returns true if the list is empty
+    */
+    @Override
+    public boolean isEmpty() {
+        return chunk == null;
+    }
+
+    /*
+        Returns the number of elements, visiting each chunk once
+    */
+    @Override
+    public int size() {
+        int size = 0;
+
+        for(UnrolledList<A> cursor = this; cursor.isNotEmpty(); cursor = cursor.next()) {
+            size += cursor.chunk.capacity() - cursor.offset;
+        }
+
+        return size;
+    }
+
+    /*
+        Returns the first element in the list
+    */
+    @Override
+    public A head() {
+        if(isEmpty()) throw new NoSuchElementException("List is empty");
+
+        return (A) chunk.get(offset);
+    }
+
+    /*
+        Returns the list elements without the head (first element)
+    */
+    @Override
+    public UnrolledList<A> tail() {
+        if(isEmpty()) throw new NoSuchElementException("List is empty");
+
+        return offset + 1 < chunk.capacity() ? new UnrolledList<>(chunk, offset + 1) : next();
+    }
+
+    /*
+        Apply a consumer on each element, reading every chunk as one array
+    */
+    @Override
+    public void traverse(Consumer<A> consumer) {
+        for(UnrolledList<A> cursor = this; cursor.isNotEmpty(); cursor = cursor.next()) {
+            Chunk current = cursor.chunk;
+            int capacity = current.capacity();
+
+            for(int i = cursor.offset; i < capacity; i++) {
+                consumer.accept((A) current.get(i));
+            }
+        }
+    }
+
+    /*
+        Gets an element at index, skipping whole chunks
+    */
+    @Override
+    public Optional<A> get(int index) {
+        if(index < 0) throw new IndexOutOfBoundsException();
+
+        for(UnrolledList<A> cursor = this; cursor.isNotEmpty(); cursor = cursor.next()) {
+            int remaining = cursor.chunk.capacity() - cursor.offset;
+
+            if(index < remaining) return Optional.ofNullable((A) cursor.chunk.get(cursor.offset + index));
+
+            index -= remaining;
+        }
+
+        throw new IndexOutOfBoundsException();
+    }
+
+    /*
+        Reverses the current(this) list
+   */
+    @Override
+    public UnrolledList<A> reverse() {
+        return UnrolledList.<A>empty().prependAllReversed(this);
+    }
+
+    /*
+        Drops n elements from the beginning of the current list (this), skipping whole chunks
+   */
+    @Override
+    public UnrolledList<A> drop(int count) {
+        UnrolledList<A> cursor = this;
+
+        while(cursor.isNotEmpty() && count > 0) {
+            int remaining = cursor.chunk.capacity() - cursor.offset;
+
+            if(count < remaining) return new UnrolledList<>(cursor.chunk, cursor.offset + count);
+
+            count -= remaining;
+            cursor = cursor.next();
+        }
+
+        return cursor;
+    }
+
+    /*
+        Drops the elements from the current list (this) while the condition evaluates to true
+   */
+    @Override
+    public UnrolledList<A> dropWhile(Predicate<A> predicate) {
+        for(UnrolledList<A> cursor = this; cursor.isNotEmpty(); cursor = cursor.next()) {
+            Chunk current = cursor.chunk;
+            int capacity = current.capacity();
+
+            for(int i = cursor.offset; i < capacity; i++) {
+                if(!predicate.test((A) current.get(i))) {
+                    return i == cursor.offset ? cursor : new UnrolledList<>(current, i);
+                }
+            }
+        }
+
+        return empty();
+    }
+
+    /*
+        Adds new element (value) at the beginning of the current list (this)
+    */
+    @Override
+    public UnrolledList<A> prepend(A value) {
+        return new Prepender<>(this).add(value).result();
+    }
+
+    /*
+        Adds "that" list at the beginning of current (this) list
+   */
+    @Override
+    public UnrolledList<A> prependAll(UnrolledList<A> that) {
+        ArrayList<A> items = new ArrayList<>();
+        that.traverse(items::add);
+
+        return prependAllBackwards(items);
+    }
+
+    /*
+       Adds reversed "that" list at the beginning of current (this) list
+  */
+    @Override
+    public UnrolledList<A> prependAllReversed(UnrolledList<A> that) {
+        Prepender<A> prepender = new Prepender<>(this);
+        that.traverse(prepender::add);
+        return prepender.result();
+    }
+
+    /*
+        Adds an element in front of current list (this)
+   */
+    @Override
+    public UnrolledList<A> append(A value) {
+        return UnrolledList.<A>empty().prepend(value).prependAll(this);
+    }
+
+    /*
+        Adds "that" list in front of current (this) list
+        "that" list is shared, only the elements of this list are copied
+    */
+    @Override
+    public UnrolledList<A> appendAll(UnrolledList<A> that) {
+        return that.prependAll(this);
+    }
+
+    /*
+        Deletes element at index
+        The elements after index are shared, only the ones before it are copied
+     */
+    @Override
+    public UnrolledList<A> delete(int index) {
+        if(isEmpty() || index < 0) throw new IndexOutOfBoundsException();
+
+        ArrayList<A> prefix = new ArrayList<>(Math.min(index, MAX_CHUNK));
+        UnrolledList<A> cursor = this;
+
+        while(cursor.isNotEmpty() && prefix.size() < index) {
+            prefix.add(cursor.head());
+            cursor = cursor.tail();
+        }
+
+        if(cursor.isEmpty()) throw new IndexOutOfBoundsException();
+
+        return cursor.tail().prependAllBackwards(prefix);
+    }
+
+    /*
+        Converts to an immutable LinkedList
+    */
+    @Override
+    public LinkedList<A> toLinkedList() {
+        LinkedList.Builder<A> builder = LinkedList.builder();
+        traverse(builder::add);
+        return builder.build();
+    }
+
+    /*
+        Iterates the elements from head to last
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            UnrolledList<A> cursor = UnrolledList.this;
+            int index = offset;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.isNotEmpty();
+            }
+
+            @Override
+            public A next() {
+                if(cursor.isEmpty()) throw new NoSuchElementException();
+
+                A value = (A) cursor.chunk.get(index++);
+
+                if(index == cursor.chunk.capacity()) {
+                    cursor = cursor.next();
+                    index = cursor.offset;
+                }
+
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "Unrolled(", ")");
+        traverse(value -> joiner.add(String.valueOf(value)));
+        return joiner.toString();
+    }
+
+    private UnrolledList<A> prependAllBackwards(ArrayList<A> items) {
+        Prepender<A> prepender = new Prepender<>(this);
+
+        for(int i = items.size() - 1; i >= 0; i--) {
+            prepender.add(items.get(i));
+        }
+
+        return prepender.result();
+    }
+
+    private UnrolledList<A> next() {
+        return (UnrolledList<A>) chunk.next;
+    }
+
+    private boolean isNotEmpty() {
+        return !isEmpty();
+    }
+
+    /*
+        Prepends many elements, writing into the chunk directly
+        A list object is only created when a chunk is full and the next one needs to point to it
+     */
+    private static final class Prepender<B> {
+        private UnrolledList<B> base;
+        private Chunk chunk;
+        private int offset;
+
+        Prepender(UnrolledList<B> base) {
+            this.base = base;
+            this.chunk = base.chunk;
+            this.offset = base.offset;
+        }
+
+        Prepender<B> add(B value) {
+            if(chunk != null && chunk.accepts(value) && chunk.claim(offset)) {
+                chunk.set(--offset, value);
+                base = null;
+                return this;
+            }
+
+            UnrolledList<B> next = result();
+            int capacity = chunk == null ? MIN_CHUNK : Math.min(MAX_CHUNK, chunk.capacity() * 2);
+
+            chunk = Chunk.allocate(value, capacity, next);
+            offset = capacity - 1;
+            base = null;
+
+            return this;
+        }
+
+        UnrolledList<B> result() {
+            if(base == null) base = new UnrolledList<>(chunk, offset);
+            return base;
+        }
+    }
+}
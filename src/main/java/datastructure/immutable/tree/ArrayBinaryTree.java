@@ -0,0 +1,242 @@
+package datastructure.immutable.tree;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+
+/*
+    ArrayBinaryTree functionality
+ */
+interface IArrayBinaryTree<A> {
+    Integer size();
+    Integer depth();
+    Boolean compare(ArrayBinaryTree<A> that);
+    ArrayBinaryTree<A> flip();
+    boolean flipEqual(ArrayBinaryTree<A> that);
+    void traverse(Consumer<A> consumer);
+    BinaryTree<A> toBinaryTree();
+}
+
+
+/*
+    Immutable binary tree stored in a single array (heap layout)
+
+    The root is in slot 0 and the children of slot i are in slots 2i + 1 and 2i + 2,
+    missing nodes are EMPTY slots and the array ends at the last node
+    There are no node objects: size and depth are O(1) and compare, flip and traversals are linear scans of one array
+    Sparse shapes waste slots (a tree of depth d needs up to 2^d - 1 of them),
+    so the layout suits complete or nearly complete trees, like the ones built by of
+ */
+public class ArrayBinaryTree<A> implements IArrayBinaryTree<A> {
+
+    /*
+        Marks a slot without node
+     */
+    private static final Object EMPTY = new Object();
+
+    /*
+        Deepest tree whose slots fit in an array
+     */
+    private static final int MAX_DEPTH = 30;
+
+    private static final ArrayBinaryTree<?> empty = new ArrayBinaryTree<>(new Object[0], 0);
+
+    private final Object[] slots;
+    private final int size;
+
+    private ArrayBinaryTree(Object[] slots, int size) {
+        this.slots = slots;
+        this.size = size;
+    }
+
+    public static <B> ArrayBinaryTree<B> empty() {
+        return (ArrayBinaryTree<B>) empty;
+    }
+
+    /*
+        Initializes a tree with the same shape as BinaryTree.of(items), O(n)
+        The same index range split is used: the first item is the root, the left subtree holds the next half of the items
+        The left half is never smaller, so the tree has depth floor(log2 n) + 1 and needs fewer than 2n slots
+     */
+    public static <B> ArrayBinaryTree<B> of(B... items) {
+        int depth = 32 - Integer.numberOfLeadingZeros(items.length);
+
+        Object[] slots = new Object[(1 << depth) - 1];
+        Arrays.fill(slots, EMPTY);
+        fill(items, 0, items.length, slots, 0);
+
+        return new ArrayBinaryTree<>(trim(slots), items.length);
+    }
+
+    private static <B> void fill(B[] items, int from, int to, Object[] slots, int slot) {
+        if(from == to) return;
+
+        int middle = from + 1 + (to - from) / 2;
+
+        slots[slot] = items[from];
+        fill(items, from + 1, middle, slots, 2 * slot + 1);
+        fill(items, middle, to, slots, 2 * slot + 2);
+    }
+
+    /*
+        Copies a BinaryTree into the array layout, keeping its shape, O(2^depth)
+        Throws IllegalArgumentException if the tree is deeper than MAX_DEPTH
+     */
+    public static <B> ArrayBinaryTree<B> from(BinaryTree<B> tree) {
+        int depth = tree.depth();
+
+        if(depth > MAX_DEPTH) throw new IllegalArgumentException("Tree is too deep for the array layout");
+
+        Object[] slots = new Object[(1 << depth) - 1];
+        Arrays.fill(slots, EMPTY);
+        fill(tree, slots, 0, false);
+
+        return new ArrayBinaryTree<>(trim(slots), tree.size());
+    }
+
+    /*
+        Copies tree from slot, swapping left and right when mirrored (the tree is read through a flipped view)
+    */
+    private static <B> void fill(BinaryTree<B> tree, Object[] slots, int slot, boolean mirrored) {
+        if(tree instanceof Flipped) {
+            fill(((Flipped<B>) tree).source, slots, slot, !mirrored);
+            return;
+        }
+
+        if(!(tree instanceof Branch)) return;
+
+        Branch<B> current = (Branch<B>) tree;
+        slots[slot] = current.data;
+        fill(mirrored ? current.right : current.left, slots, 2 * slot + 1, mirrored);
+        fill(mirrored ? current.left : current.right, slots, 2 * slot + 2, mirrored);
+    }
+
+    /*
+      Return the size of the tree
+      Size of the tree is the number of nodes, O(1)
+    */
+    @Override
+    public Integer size() {
+        return size;
+    }
+
+    /*
+        Depth is the length of the longest path from root to leaf
+        It is the level of the last slot, O(1)
+    */
+    @Override
+    public Integer depth() {
+        return 32 - Integer.numberOfLeadingZeros(slots.length);
+    }
+
+    /*
+        Compares two trees
+        return true if they are equal (values and structure)
+        Same shape means same EMPTY slots, so the arrays are compared slot by slot
+    */
+    @Override
+    public Boolean compare(ArrayBinaryTree<A> that) {
+        if(this.size != that.size || this.slots.length != that.slots.length) return false;
+
+        for(int i = 0; i < slots.length; i++) {
+            if(!same(this.slots[i], that.slots[i])) return false;
+        }
+
+        return true;
+    }
+
+    /*
+        Flip the tree left and right nodes
+        Flipping a tree reverses each of its levels
+    */
+    @Override
+    public ArrayBinaryTree<A> flip() {
+        if(size == 0) return this;
+
+        Object[] flipped = new Object[(1 << depth()) - 1];
+
+        for(int i = 0; i < flipped.length; i++) flipped[i] = slot(mirror(i));
+
+        return new ArrayBinaryTree<>(trim(flipped), size);
+    }
+
+    /*
+        Checks if "that" tree is the flip of the current tree (this)
+        Each slot is compared with the mirrored slot of the same level in "that" tree
+    */
+    @Override
+    public boolean flipEqual(ArrayBinaryTree<A> that) {
+        if(this.size != that.size || this.depth().intValue() != that.depth().intValue()) return false;
+
+        int levelSlots = (1 << depth()) - 1;
+
+        for(int i = 0; i < levelSlots; i++) {
+            if(!same(this.slot(i), that.slot(mirror(i)))) return false;
+        }
+
+        return true;
+    }
+
+    /*
+        Apply a consumer on each node, level by level from left to right
+    */
+    @Override
+    public void traverse(Consumer<A> consumer) {
+        for(Object value : slots) {
+            if(value != EMPTY) consumer.accept((A) value);
+        }
+    }
+
+    /*
+        Builds the same tree out of Branch nodes
+    */
+    @Override
+    public BinaryTree<A> toBinaryTree() {
+        return toBinaryTree(0);
+    }
+
+    private BinaryTree<A> toBinaryTree(int slot) {
+        Object value = slot(slot);
+
+        if(value == EMPTY) return BinaryTree.leaf;
+
+        return new Branch<>((A) value, toBinaryTree(2 * slot + 1), toBinaryTree(2 * slot + 2));
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "ArrayBinaryTree(", ")");
+
+        for(Object value : slots) joiner.add(value == EMPTY ? "_" : String.valueOf(value));
+
+        return joiner.toString();
+    }
+
+    private Object slot(int slot) {
+        return slot < slots.length ? slots[slot] : EMPTY;
+    }
+
+    /*
+        Slot at the same position from the other end of the level of slot
+    */
+    private static int mirror(int slot) {
+        int levelStart = Integer.highestOneBit(slot + 1) - 1;
+        int levelEnd = 2 * levelStart;
+        return levelStart + levelEnd - slot;
+    }
+
+    private static boolean same(Object thisValue, Object thatValue) {
+        return thisValue == EMPTY ? thatValue == EMPTY : thatValue != EMPTY && Objects.equals(thisValue, thatValue);
+    }
+
+    /*
+        Drops the EMPTY slots after the last node
+    */
+    private static Object[] trim(Object[] slots) {
+        int length = slots.length;
+        while(length > 0 && slots[length - 1] == EMPTY) length--;
+        return length == slots.length ? slots : Arrays.copyOf(slots, length);
+    }
+}
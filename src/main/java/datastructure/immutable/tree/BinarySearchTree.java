@@ -1,37 +1,91 @@
 package datastructure.immutable.tree;
 
+import datastructure.util.Trampoline;
 import lombok.AllArgsConstructor;
-import lombok.Data;
 
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 
 /*
-    Represents an empty tree node
+    Result of splitting a tree around a key: the keys smaller than it, the key itself if the tree holds it
+    (null otherwise) and the keys greater than it
  */
-class LeafNode extends BinarySearchTree {
-
-    @Override
-    public String toString() {
-        return "Leaf";
-    }
+@AllArgsConstructor
+class Split<A extends Comparable<A>> {
+    final BinarySearchTree<A> less;
+    final A found;
+    final BinarySearchTree<A> greater;
 }
 
+
 /*
-    Represents a non empty tree node
+    In-order iterator over a BinarySearchTree
+    Keeps the path of nodes still to visit on an explicit stack (at most the depth of the tree),
+    so nothing is visited before it is asked for and the iteration can stop at any time
  */
-@Data
-@AllArgsConstructor
-class BranchNode<A extends Comparable<A>> extends BinarySearchTree<A> {
-    A data;
-    BinarySearchTree<A> left;
-    BinarySearchTree<A> right;
+class InOrderIterator<A extends Comparable<A>> implements Iterator<A> {
+    private final ArrayDeque<BranchNode<A>> stack = new ArrayDeque<>();
+
+    /*
+        Iterates all keys
+     */
+    InOrderIterator(BinarySearchTree<A> tree) {
+        pushLeftPath(tree);
+    }
+
+    /*
+        Iterates the keys greater than or equal to from
+     */
+    InOrderIterator(BinarySearchTree<A> tree, A from) {
+        BinarySearchTree<A> cursor = tree;
+
+        while(cursor instanceof BranchNode) {
+            BranchNode<A> current = (BranchNode<A>) cursor;
+
+            if(from.compareTo(current.data) <= 0) {
+                stack.push(current);
+                cursor = current.left;
+            } else {
+                cursor = current.right;
+            }
+        }
+    }
 
     @Override
-    public String toString() {
-        return String.format("Branch(%s, %s, %s)", data, left, right);
+    public boolean hasNext() {
+        return !stack.isEmpty();
+    }
+
+    @Override
+    public A next() {
+        if(stack.isEmpty()) throw new NoSuchElementException();
+
+        BranchNode<A> current = stack.pop();
+        pushLeftPath(current.right);
+        return current.data;
+    }
+
+    private void pushLeftPath(BinarySearchTree<A> tree) {
+        while(tree instanceof BranchNode) {
+            BranchNode<A> current = (BranchNode<A>) tree;
+            stack.push(current);
+            tree = current.left;
+        }
     }
 }
 
@@ -39,45 +93,173 @@ class BranchNode<A extends Comparable<A>> extends BinarySearchTree<A> {
 /*
     Binary Tree functionality
  */
-interface IBinarySearchTree<A extends Comparable<A>> {
+interface IBinarySearchTree<A extends Comparable<A>> extends Iterable<A> {
     Integer size();
     Integer depth();
     Boolean compare(BinarySearchTree<A> that);
     <B extends Comparable<B>> BinarySearchTree<B> map(Function<A, B> f);
+    <B extends Comparable<B>> BinarySearchTree<B> mapMonotonic(Function<A, B> f);
     BinarySearchTree<A> insert(A data);
+    BinarySearchTree<A> delete(A key);
+    TransientBinarySearchTree<A> asTransient();
     Optional<A> find(A key);
+    int rank(A key);
+    Optional<A> select(int index);
+    int countRange(A from, A to);
+    Optional<A> median();
+    Optional<A> percentile(double percent);
+    BinarySearchTree<A> union(BinarySearchTree<A> that);
+    BinarySearchTree<A> intersection(BinarySearchTree<A> that);
+    BinarySearchTree<A> difference(BinarySearchTree<A> that);
+    Map.Entry<BinarySearchTree<A>, BinarySearchTree<A>> split(A key);
+    Optional<A> min();
+    Optional<A> max();
+    Optional<A> floor(A key);
+    Optional<A> ceiling(A key);
+    Iterator<A> iteratorFrom(A key);
+    Stream<A> range(A from, A to);
+    Spliterator<A> spliterator();
+    Stream<A> stream();
     void preOrderTraversal(Consumer<A> consumer);
     void inOrderTraversal(Consumer<A> consumer);
     void postOrderTraversal(Consumer<A> consumer);
 }
 
 /*
-    Binary tree implementation
+    Binary search tree implementation
+    The tree is weight balanced (Adams' tree): the size of a subtree is at most DELTA times the size
+    of its sibling, which keeps the depth logarithmic whatever the insertion order
+    insert and delete copy the path from the root and rebalance it on the way back with single or double rotations
+    Keys are unique, inserting an existing key returns the same tree
  */
 public class BinarySearchTree<A extends Comparable<A>> implements IBinarySearchTree<A> {
 
+    /*
+        Balance parameters, as in Haskell's Data.Set
+     */
+    static final int DELTA = 3;
+    static final int RATIO = 2;
+
+    /*
+        Bulk builds, maps and set operations on fewer nodes than this (both trees together) run on the current thread
+     */
+    static final int PARALLEL_CUTOFF = 8192;
+
     static LeafNode leafNode = new LeafNode();
 
+    private static final int CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
     /*
         Initializes Binary tree
+        The items are copied and sorted, the caller's array is left unchanged
+        Duplicated keys are kept once
      */
     public static <B extends Comparable<B>> BinarySearchTree<B> of(B... items) {
-        Arrays.sort(items);
-        return bst(items);
+        return sortAndBuild(items.clone(), false);
+    }
+
+    /*
+        Initializes Binary tree from items already sorted in ascending order, O(n)
+        Strictly ascending items are read in place without any copy, duplicated keys are kept once
+        Throws IllegalArgumentException if the items are not sorted
+     */
+    public static <B extends Comparable<B>> BinarySearchTree<B> ofSorted(B... items) {
+        for(int i = 1; i < items.length; i++) {
+            int comparison = items[i - 1].compareTo(items[i]);
+
+            if(comparison > 0) throw new IllegalArgumentException("Items are not sorted");
+
+            if(comparison == 0) {
+                Object[] copy = items.clone();
+                return build(copy, 0, distinct(copy, copy.length));
+            }
+        }
+
+        return build(items, 0, items.length);
+    }
+
+    /*
+        Initializes Binary tree from the elements of a stream, in any order
+        A parallel stream is sorted in parallel
+     */
+    public static <B extends Comparable<B>> BinarySearchTree<B> fromStream(Stream<? extends B> items) {
+        boolean parallel = items.isParallel();
+        return sortAndBuild(items.toArray(), parallel);
     }
 
-    private static <B extends Comparable<B>> BinarySearchTree<B> bst(B... items) {
-        if(items.length == 0) {
-            return leafNode;
+    /*
+        Initializes Binary tree from an iterator returning the keys in ascending order, O(n)
+        The keys are buffered in a single array, duplicated keys are kept once
+        Throws IllegalArgumentException if the keys are not sorted
+     */
+    public static <B extends Comparable<B>> BinarySearchTree<B> fromSortedIterator(Iterator<? extends B> items) {
+        Object[] buffer = new Object[16];
+        int count = 0;
+
+        while(items.hasNext()) {
+            B item = items.next();
+
+            if(count > 0) {
+                int comparison = ((B) buffer[count - 1]).compareTo(item);
+
+                if(comparison > 0) throw new IllegalArgumentException("Items are not sorted");
+
+                if(comparison == 0) continue;
+            }
+
+            if(count == buffer.length) buffer = Arrays.copyOf(buffer, count * 2);
+            buffer[count++] = item;
         }
 
-        int half = items.length / 2;
+        return build(buffer, 0, count);
+    }
 
-        B head = items[half];
-        B[] leftItems = Arrays.copyOfRange(items, 0, half);
-        B[] rightItems = Arrays.copyOfRange(items, half + 1, items.length);
+    /*
+        Sorts the items in place (in parallel if asked), drops duplicated keys and builds the tree, O(n log n)
+     */
+    private static <B extends Comparable<B>> BinarySearchTree<B> sortAndBuild(Object[] items, boolean parallel) {
+        if(parallel) {
+            Arrays.parallelSort(items, (x, y) -> ((B) x).compareTo((B) y));
+        } else {
+            Arrays.sort(items);
+        }
 
-        return new BranchNode<>(head, bst(leftItems), bst(rightItems));
+        return build(items, 0, distinct(items, items.length));
+    }
+
+    /*
+        Moves the distinct keys of sorted[0, length) to the beginning of the array, returns their count
+     */
+    private static int distinct(Object[] sorted, int length) {
+        int count = 0;
+
+        for(int i = 0; i < length; i++) {
+            if(count == 0 || ((Comparable<Object>) sorted[count - 1]).compareTo(sorted[i]) != 0) sorted[count++] = sorted[i];
+        }
+
+        return count;
+    }
+
+    /*
+        Builds a perfectly balanced tree from the sorted, distinct keys items[from, to), O(n)
+        The middle key becomes the root and both halves are built from index ranges of the same array,
+        the halves are built in parallel while they hold PARALLEL_CUTOFF keys or more
+     */
+    private static <B extends Comparable<B>> BinarySearchTree<B> build(Object[] items, int from, int to) {
+        if(from == to) return leafNode;
+
+        int half = (from + to) >>> 1;
+        B head = (B) items[half];
+
+        if(to - from < PARALLEL_CUTOFF) {
+            return new BranchNode<>(head, build(items, from, half), build(items, half + 1, to));
+        }
+
+        return forkJoin(to - from,
+                () -> BinarySearchTree.<B>build(items, from, half),
+                () -> BinarySearchTree.<B>build(items, half + 1, to),
+                (left, right) -> new BranchNode<>(head, left, right));
     }
 
     protected BinarySearchTree() {}
@@ -85,84 +267,424 @@ public class BinarySearchTree<A extends Comparable<A>> implements IBinarySearchT
     /*
       Return the size of the tree
       Size of the tree is the number of nodes in the tree (Leaf nodes excluded)
+      Each node knows the size of its subtree, so this is O(1)
     */
     @Override
     public Integer size() {
-        if(this.isLeaf()) return 0;
-
-        BranchNode<A> current = (BranchNode) this;
-
-        return 1 + current.left.size() + current.right.size();
+        return this.isLeaf() ? 0 : ((BranchNode<A>) this).size;
     }
 
     /*
         Depth is the length of the longest path from root to leaf
+        Each node knows the height of its subtree, so this is O(1)
    */
     @Override
     public Integer depth() {
-        if(this.isLeaf()) return 0;
-
-        BranchNode<A> current = (BranchNode) this;
-
-        return 1 + Math.max(current.left.depth(), current.right.depth());
+        return this.isLeaf() ? 0 : ((BranchNode<A>) this).height;
     }
 
     /*
         Compares two trees
         return true if they are equal (values and structure)
+        Shared subtrees are not visited, and subtrees whose sizes or structural hashes differ are rejected in O(1)
    */
     @Override
     public Boolean compare(BinarySearchTree<A> that) {
+        return equal(this, that).run();
+    }
+
+    private static <B extends Comparable<B>> Trampoline<Boolean> equal(BinarySearchTree<B> thisTree, BinarySearchTree<B> thatTree) {
+
+        if(thisTree.isLeaf() && thatTree.isLeaf()) {
 
-        if(this.isLeaf() && that.isLeaf()) {
+            return Trampoline.done(true);
 
-            return true;
+        } else if (thisTree.isNotLeaf() && thatTree.isNotLeaf()) {
 
-        } else if (this.isNotLeaf() && that.isNotLeaf()) {
+            BranchNode<B> thisBranch = ((BranchNode<B>)thisTree);
+            BranchNode<B> thatBranch = ((BranchNode<B>)thatTree);
 
-            BranchNode<A> thisTree = ((BranchNode<A>)this);
-            BranchNode<A> thatTree = ((BranchNode<A>)that);
+            if(thisBranch == thatBranch) return Trampoline.done(true);
 
-            if(thisTree.data.equals(thatTree.data)) {
+            if(thisBranch.size != thatBranch.size || thisBranch.hash != thatBranch.hash) return Trampoline.done(false);
 
-                return thisTree.left.compare(thatTree.left) &&
-                        thisTree.right.compare(thatTree.right);
+            if(thisBranch.data.equals(thatBranch.data)) {
+
+                return Trampoline.more(() -> equal(thisBranch.left, thatBranch.left))
+                        .flatMap(same -> same ? equal(thisBranch.right, thatBranch.right) : Trampoline.done(false));
             }else{
 
-                return false;
+                return Trampoline.done(false);
             }
 
         } else {
 
-            return false;
+            return Trampoline.done(false);
         }
     }
 
     /*
-        Apply function f to each node
+        Apply function f to each key, O(n log n)
+        f does not have to preserve the order: the mapped keys are sorted again and the tree is rebuilt,
+        keys mapped to the same value are kept once
+        Mapping, sorting and building run in parallel for trees of PARALLEL_CUTOFF keys or more
     */
     @Override
     public <B extends Comparable<B>> BinarySearchTree<B> map(Function<A, B> f) {
-        if(this.isLeaf()) return leafNode;
-        BranchNode<A> current = (BranchNode) this;
+        Object[] mapped = new Object[size()];
+        mapInto(this, f, mapped, 0);
+        return sortAndBuild(mapped, mapped.length >= PARALLEL_CUTOFF);
+    }
+
+    /*
+        Writes f of the keys of tree in order to out, from offset
+        Each subtree knows its size, so both halves know where to write and can run in parallel
+    */
+    private static <B extends Comparable<B>, C extends Comparable<C>> void mapInto(BinarySearchTree<B> tree, Function<B, C> f, Object[] out, int offset) {
+        if(tree.isLeaf()) return;
+
+        BranchNode<B> current = (BranchNode<B>) tree;
+        int middle = offset + current.left.size();
+
+        if(current.size < PARALLEL_CUTOFF) {
+            mapInto(current.left, f, out, offset);
+            out[middle] = f.apply(current.data);
+            mapInto(current.right, f, out, middle + 1);
+            return;
+        }
+
+        ForkJoinTask<?> forked = ForkJoinTask.adapt(() -> mapInto(current.left, f, out, offset)).fork();
+        out[middle] = f.apply(current.data);
+        mapInto(current.right, f, out, middle + 1);
+        forked.join();
+    }
+
+    /*
+        Apply a strictly increasing function f to each key, O(n)
+        The order of the keys is kept, so the tree keeps its shape and nothing is sorted or rebalanced
+        (a function that is not strictly increasing breaks the search order, use map instead)
+        Subtrees are mapped in parallel for trees of PARALLEL_CUTOFF keys or more
+    */
+    @Override
+    public <B extends Comparable<B>> BinarySearchTree<B> mapMonotonic(Function<A, B> f) {
+        return mapMonotonic(this, f);
+    }
+
+    private static <B extends Comparable<B>, C extends Comparable<C>> BinarySearchTree<C> mapMonotonic(BinarySearchTree<B> tree, Function<B, C> f) {
+        if(tree.isLeaf()) return leafNode;
+
+        BranchNode<B> current = (BranchNode<B>) tree;
 
-        return new BranchNode<>(f.apply(current.data), current.left.map(f), current.right.map(f));
+        return forkJoin(current.size,
+                () -> mapMonotonic(current.left, f),
+                () -> mapMonotonic(current.right, f),
+                (left, right) -> new BranchNode<>(f.apply(current.data), left, right));
     }
 
     /*
-        Adds new node
+        Adds new node, O(log n)
+        The tree is balanced, so the recursion is only O(log n) deep
     */
     @Override
     public BinarySearchTree<A> insert(A data) {
         if(this.isLeaf()) return new BranchNode<>(data, leafNode, leafNode);
 
-        BranchNode<A> current = (BranchNode) this;
+        BranchNode<A> current = (BranchNode<A>) this;
+        int comparison = data.compareTo(current.data);
+
+        if(comparison < 0) {
+            BinarySearchTree<A> left = current.left.insert(data);
+            return left == current.left ? this : balance(current.data, left, current.right);
+        } else if(comparison > 0) {
+            BinarySearchTree<A> right = current.right.insert(data);
+            return right == current.right ? this : balance(current.data, current.left, right);
+        } else {
+            return this;
+        }
+    }
+
+    /*
+        Returns a transient copy of this tree for a batch of updates, O(1)
+        The transient changes the nodes it creates in place instead of copying the path on every update,
+        this tree is left unchanged
+    */
+    @Override
+    public TransientBinarySearchTree<A> asTransient() {
+        return new TransientBinarySearchTree<>(this);
+    }
+
+    /*
+        Removes the node holding key, O(log n)
+        The removed node is replaced by the minimum of its right subtree or the maximum of its left subtree,
+        whichever is bigger, and the path is rebalanced
+        Returns the same tree if the key is not found
+    */
+    @Override
+    public BinarySearchTree<A> delete(A key) {
+        if(this.isLeaf()) return this;
+
+        BranchNode<A> current = (BranchNode<A>) this;
+        int comparison = key.compareTo(current.data);
+
+        if(comparison < 0) {
+            BinarySearchTree<A> left = current.left.delete(key);
+            return left == current.left ? this : balance(current.data, left, current.right);
+        } else if(comparison > 0) {
+            BinarySearchTree<A> right = current.right.delete(key);
+            return right == current.right ? this : balance(current.data, current.left, right);
+        } else {
+            return glue(current.left, current.right);
+        }
+    }
+
+    /*
+        Joins two balanced trees whose sizes are within DELTA, all keys of left being smaller than the keys of right
+    */
+    private static <B extends Comparable<B>> BinarySearchTree<B> glue(BinarySearchTree<B> left, BinarySearchTree<B> right) {
+        if(left.isLeaf()) return right;
+        if(right.isLeaf()) return left;
+
+        if(left.size() > right.size()) {
+            B max = max(left);
+            return balance(max, deleteMax(left), right);
+        } else {
+            B min = min(right);
+            return balance(min, left, deleteMin(right));
+        }
+    }
+
+    /*
+        Returns the keys of both trees, O(m log(n/m + 1)) for sizes m <= n
+        Both trees are split around the root of this one and the halves are combined independently,
+        in parallel (on the current fork-join pool, or the common pool) while they hold PARALLEL_CUTOFF nodes or more
+        Subtrees of this tree that do not change are shared with the result
+    */
+    @Override
+    public BinarySearchTree<A> union(BinarySearchTree<A> that) {
+        return union(this, that);
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> union(BinarySearchTree<B> thisTree, BinarySearchTree<B> thatTree) {
+        if(thatTree.isLeaf()) return thisTree;
+        if(thisTree.isLeaf()) return thatTree;
+
+        BranchNode<B> root = (BranchNode<B>) thisTree;
+        Split<B> split = split(thatTree, root.data);
+
+        return forkJoin(thisTree.size() + thatTree.size(),
+                () -> union(root.left, split.less),
+                () -> union(root.right, split.greater),
+                (left, right) -> left == root.left && right == root.right ? thisTree : link(root.data, left, right));
+    }
+
+    /*
+        Returns the keys found in both trees, O(m log(n/m + 1)), parallel like union
+    */
+    @Override
+    public BinarySearchTree<A> intersection(BinarySearchTree<A> that) {
+        return intersection(this, that);
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> intersection(BinarySearchTree<B> thisTree, BinarySearchTree<B> thatTree) {
+        if(thisTree.isLeaf() || thatTree.isLeaf()) return leafNode;
+
+        BranchNode<B> root = (BranchNode<B>) thisTree;
+        Split<B> split = split(thatTree, root.data);
+
+        return forkJoin(thisTree.size() + thatTree.size(),
+                () -> intersection(root.left, split.less),
+                () -> intersection(root.right, split.greater),
+                (left, right) -> {
+                    if(split.found == null) return merge(left, right);
+
+                    return left == root.left && right == root.right ? thisTree : link(root.data, left, right);
+                });
+    }
+
+    /*
+        Returns the keys of this tree that are not in "that" tree, O(m log(n/m + 1)), parallel like union
+    */
+    @Override
+    public BinarySearchTree<A> difference(BinarySearchTree<A> that) {
+        return difference(this, that);
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> difference(BinarySearchTree<B> thisTree, BinarySearchTree<B> thatTree) {
+        if(thisTree.isLeaf()) return leafNode;
+        if(thatTree.isLeaf()) return thisTree;
+
+        BranchNode<B> root = (BranchNode<B>) thatTree;
+        Split<B> split = split(thisTree, root.data);
+
+        return forkJoin(thisTree.size() + thatTree.size(),
+                () -> difference(split.less, root.left),
+                () -> difference(split.greater, root.right),
+                (left, right) -> left.size() + right.size() == thisTree.size() ? thisTree : merge(left, right));
+    }
+
+    /*
+        Returns the keys smaller than key and the keys greater than key as two balanced trees, O(log n)
+    */
+    @Override
+    public Map.Entry<BinarySearchTree<A>, BinarySearchTree<A>> split(A key) {
+        Split<A> split = split(this, key);
+        return new AbstractMap.SimpleImmutableEntry<>(split.less, split.greater);
+    }
+
+    static <B extends Comparable<B>> Split<B> split(BinarySearchTree<B> tree, B key) {
+        if(tree.isLeaf()) return new Split<>(leafNode, null, leafNode);
+
+        BranchNode<B> current = (BranchNode<B>) tree;
+        int comparison = key.compareTo(current.data);
+
+        if(comparison < 0) {
+            Split<B> split = split(current.left, key);
+            return new Split<>(split.less, split.found, link(current.data, split.greater, current.right));
+        } else if(comparison > 0) {
+            Split<B> split = split(current.right, key);
+            return new Split<>(link(current.data, current.left, split.less), split.found, split.greater);
+        } else {
+            return new Split<>(current.left, current.data, current.right);
+        }
+    }
+
+    /*
+        Combines the results of two independent recursive calls,
+        forking the first one when the work covers enough nodes to be worth a task
+    */
+    private static <T, R> R forkJoin(int nodes, Supplier<T> leftTask, Supplier<T> rightTask, BiFunction<T, T, R> combine) {
+        if(nodes < PARALLEL_CUTOFF) {
+            return combine.apply(leftTask.get(), rightTask.get());
+        }
+
+        ForkJoinTask<T> forked = ForkJoinTask.adapt(leftTask::get).fork();
+        T right = rightTask.get();
+
+        return combine.apply(forked.join(), right);
+    }
+
+    /*
+        Builds a balanced tree from data and two trees of any sizes, all keys of left < data < all keys of right
+        Descends along the spine of the bigger tree until the sizes are within DELTA, O(log n)
+    */
+    static <B extends Comparable<B>> BinarySearchTree<B> link(B data, BinarySearchTree<B> left, BinarySearchTree<B> right) {
+        if(left.isLeaf()) return insertMin(data, right);
+        if(right.isLeaf()) return insertMax(data, left);
+
+        BranchNode<B> leftBranch = (BranchNode<B>) left;
+        BranchNode<B> rightBranch = (BranchNode<B>) right;
+
+        if(DELTA * leftBranch.size < rightBranch.size) {
+            return balance(rightBranch.data, link(data, left, rightBranch.left), rightBranch.right);
+        }
+
+        if(DELTA * rightBranch.size < leftBranch.size) {
+            return balance(leftBranch.data, leftBranch.left, link(data, leftBranch.right, right));
+        }
+
+        return new BranchNode<>(data, left, right);
+    }
+
+    /*
+        Concatenates two trees of any sizes, all keys of left being smaller than the keys of right, O(log n)
+    */
+    static <B extends Comparable<B>> BinarySearchTree<B> merge(BinarySearchTree<B> left, BinarySearchTree<B> right) {
+        if(left.isLeaf()) return right;
+        if(right.isLeaf()) return left;
+
+        BranchNode<B> leftBranch = (BranchNode<B>) left;
+        BranchNode<B> rightBranch = (BranchNode<B>) right;
+
+        if(DELTA * leftBranch.size < rightBranch.size) {
+            return balance(rightBranch.data, merge(left, rightBranch.left), rightBranch.right);
+        }
+
+        if(DELTA * rightBranch.size < leftBranch.size) {
+            return balance(leftBranch.data, leftBranch.left, merge(leftBranch.right, right));
+        }
+
+        return glue(left, right);
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> insertMin(B data, BinarySearchTree<B> tree) {
+        if(tree.isLeaf()) return new BranchNode<>(data, leafNode, leafNode);
+
+        BranchNode<B> current = (BranchNode<B>) tree;
+        return balance(current.data, insertMin(data, current.left), current.right);
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> insertMax(B data, BinarySearchTree<B> tree) {
+        if(tree.isLeaf()) return new BranchNode<>(data, leafNode, leafNode);
+
+        BranchNode<B> current = (BranchNode<B>) tree;
+        return balance(current.data, current.left, insertMax(data, current.right));
+    }
+
+    static <B extends Comparable<B>> B min(BinarySearchTree<B> tree) {
+        BranchNode<B> current = (BranchNode<B>) tree;
+        while(current.left.isNotLeaf()) current = (BranchNode<B>) current.left;
+        return current.data;
+    }
+
+    static <B extends Comparable<B>> B max(BinarySearchTree<B> tree) {
+        BranchNode<B> current = (BranchNode<B>) tree;
+        while(current.right.isNotLeaf()) current = (BranchNode<B>) current.right;
+        return current.data;
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> deleteMin(BinarySearchTree<B> tree) {
+        BranchNode<B> current = (BranchNode<B>) tree;
+        if(current.left.isLeaf()) return current.right;
+        return balance(current.data, deleteMin(current.left), current.right);
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> deleteMax(BinarySearchTree<B> tree) {
+        BranchNode<B> current = (BranchNode<B>) tree;
+        if(current.right.isLeaf()) return current.left;
+        return balance(current.data, current.left, deleteMax(current.right));
+    }
+
+    /*
+        Creates a node, rotating if one side became more than DELTA times bigger than the other
+        after a single insert or delete
+    */
+    static <B extends Comparable<B>> BinarySearchTree<B> balance(B data, BinarySearchTree<B> left, BinarySearchTree<B> right) {
+        int leftSize = left.size();
+        int rightSize = right.size();
+
+        if(leftSize + rightSize <= 1) return new BranchNode<>(data, left, right);
+
+        if(rightSize > DELTA * leftSize) return rotateLeft(data, left, (BranchNode<B>) right);
+
+        if(leftSize > DELTA * rightSize) return rotateRight(data, (BranchNode<B>) left, right);
+
+        return new BranchNode<>(data, left, right);
+    }
 
-        if(data.compareTo(current.data) < 0) {
-            return new BranchNode<>(current.data, current.left.insert(data), current.right);
-        }else{
-            return new BranchNode<>(current.data, current.left, current.right.insert(data));
+    private static <B extends Comparable<B>> BinarySearchTree<B> rotateLeft(B data, BinarySearchTree<B> left, BranchNode<B> right) {
+        if(right.left.size() < RATIO * right.right.size()) {
+            // single rotation
+            return new BranchNode<>(right.data, new BranchNode<>(data, left, right.left), right.right);
         }
+
+        // double rotation
+        BranchNode<B> middle = (BranchNode<B>) right.left;
+        return new BranchNode<>(middle.data,
+                new BranchNode<>(data, left, middle.left),
+                new BranchNode<>(right.data, middle.right, right.right));
+    }
+
+    private static <B extends Comparable<B>> BinarySearchTree<B> rotateRight(B data, BranchNode<B> left, BinarySearchTree<B> right) {
+        if(left.right.size() < RATIO * left.left.size()) {
+            // single rotation
+            return new BranchNode<>(left.data, left.left, new BranchNode<>(data, left.right, right));
+        }
+
+        // double rotation
+        BranchNode<B> middle = (BranchNode<B>) left.right;
+        return new BranchNode<>(middle.data,
+                new BranchNode<>(left.data, left.left, middle.left),
+                new BranchNode<>(data, middle.right, right));
     }
 
     /*
@@ -171,13 +693,205 @@ public class BinarySearchTree<A extends Comparable<A>> implements IBinarySearchT
     */
     @Override
     public Optional<A> find(A key) {
+        BinarySearchTree<A> cursor = this;
+
+        while(cursor.isNotLeaf()) {
+            BranchNode<A> current = (BranchNode<A>) cursor;
+            int comparison = current.data.compareTo(key);
+
+            if(comparison == 0) return Optional.ofNullable(current.data);
+            else if (comparison > 0) cursor = current.left;
+            else cursor = current.right;
+        }
+
+        return Optional.empty();
+    }
+
+    /*
+        Number of keys smaller than key, O(log n)
+    */
+    @Override
+    public int rank(A key) {
+        BinarySearchTree<A> cursor = this;
+        int rank = 0;
+
+        while(cursor.isNotLeaf()) {
+            BranchNode<A> current = (BranchNode<A>) cursor;
+            int comparison = key.compareTo(current.data);
+
+            if(comparison < 0) {
+                cursor = current.left;
+            } else if(comparison > 0) {
+                rank += current.left.size() + 1;
+                cursor = current.right;
+            } else {
+                return rank + current.left.size();
+            }
+        }
+
+        return rank;
+    }
+
+    /*
+        Returns the key at index in sorted order (the key whose rank is index), O(log n)
+    */
+    @Override
+    public Optional<A> select(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+
+        BranchNode<A> current = (BranchNode<A>) this;
+
+        while(true) {
+            int leftSize = current.left.size();
+
+            if(index < leftSize) {
+                current = (BranchNode<A>) current.left;
+            } else if(index > leftSize) {
+                index -= leftSize + 1;
+                current = (BranchNode<A>) current.right;
+            } else {
+                return Optional.ofNullable(current.data);
+            }
+        }
+    }
+
+    /*
+        Number of keys between from and to (both included), O(log n)
+    */
+    @Override
+    public int countRange(A from, A to) {
+        if(from.compareTo(to) > 0) return 0;
+
+        return rank(to) - rank(from) + (find(to).isPresent() ? 1 : 0);
+    }
+
+    /*
+        Returns the middle key (the lower one when the size is even), O(log n)
+    */
+    @Override
+    public Optional<A> median() {
+        return percentile(50);
+    }
+
+    /*
+        Returns the smallest key such that at least percent % of the keys are less than or equal to it
+        (nearest rank: the key at index ceil(percent / 100 * n) - 1, the smallest key for 0), O(log n)
+    */
+    @Override
+    public Optional<A> percentile(double percent) {
+        if(percent < 0 || percent > 100) throw new IllegalArgumentException("percent must be between 0 and 100");
         if(this.isLeaf()) return Optional.empty();
 
-        BranchNode<A> current = (BranchNode) this;
+        return select(Math.max(0, (int) Math.ceil(percent * size() / 100) - 1));
+    }
+
+    /*
+        Returns the smallest key, O(log n)
+    */
+    @Override
+    public Optional<A> min() {
+        return this.isLeaf() ? Optional.empty() : Optional.ofNullable(min(this));
+    }
+
+    /*
+        Returns the greatest key, O(log n)
+    */
+    @Override
+    public Optional<A> max() {
+        return this.isLeaf() ? Optional.empty() : Optional.ofNullable(max(this));
+    }
+
+    /*
+        Returns the greatest key less than or equal to key, O(log n)
+    */
+    @Override
+    public Optional<A> floor(A key) {
+        BinarySearchTree<A> cursor = this;
+        A floor = null;
+
+        while(cursor.isNotLeaf()) {
+            BranchNode<A> current = (BranchNode<A>) cursor;
+            int comparison = key.compareTo(current.data);
+
+            if(comparison == 0) return Optional.of(current.data);
+
+            if(comparison < 0) {
+                cursor = current.left;
+            } else {
+                floor = current.data;
+                cursor = current.right;
+            }
+        }
+
+        return Optional.ofNullable(floor);
+    }
+
+    /*
+        Returns the smallest key greater than or equal to key, O(log n)
+    */
+    @Override
+    public Optional<A> ceiling(A key) {
+        BinarySearchTree<A> cursor = this;
+        A ceiling = null;
+
+        while(cursor.isNotLeaf()) {
+            BranchNode<A> current = (BranchNode<A>) cursor;
+            int comparison = key.compareTo(current.data);
+
+            if(comparison == 0) return Optional.of(current.data);
+
+            if(comparison > 0) {
+                cursor = current.right;
+            } else {
+                ceiling = current.data;
+                cursor = current.left;
+            }
+        }
+
+        return Optional.ofNullable(ceiling);
+    }
+
+    /*
+        Iterates the keys in ascending order
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return new InOrderIterator<>(this);
+    }
 
-        if(current.data.compareTo(key) == 0) return Optional.ofNullable(current.data);
-        else if (current.data.compareTo(key) == 1) return current.left.find(key);
-        else return current.right.find(key);
+    /*
+        Iterates the keys greater than or equal to key in ascending order
+        Getting the first k keys costs O(log n + k)
+    */
+    @Override
+    public Iterator<A> iteratorFrom(A key) {
+        return new InOrderIterator<>(this, key);
+    }
+
+    /*
+        Lazy stream of the keys between from and to (both included) in ascending order
+    */
+    @Override
+    public Stream<A> range(A from, A to) {
+        Spliterator<A> spliterator = Spliterators.spliteratorUnknownSize(iteratorFrom(from), CHARACTERISTICS);
+
+        return StreamSupport.stream(spliterator, false).takeWhile(key -> key.compareTo(to) <= 0);
+    }
+
+    /*
+        Sorted, sized spliterator over the keys
+    */
+    @Override
+    public Spliterator<A> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), CHARACTERISTICS);
+    }
+
+    /*
+        Sequential stream of the keys in ascending order
+    */
+    @Override
+    public Stream<A> stream() {
+        return StreamSupport.stream(spliterator(), false);
     }
 
     /*
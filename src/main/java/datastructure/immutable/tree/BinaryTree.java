@@ -1,9 +1,14 @@
 package datastructure.immutable.tree;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import datastructure.util.Parallelism;
+import datastructure.util.Trampoline;
 
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /*
     Represents an empty tree node
@@ -16,19 +21,109 @@ class Leaf extends BinaryTree {
     }
 }
 
+
 /*
-    Represents a non empty tree node
+    Fork-join tasks behind the parallel operations of BinaryTree
+    Nodes of the top splitDepth levels fork a task for their left subtree and go on with the right one,
+    the subtrees below are handled by the sequential (trampolined) operations
  */
-@Data
-@AllArgsConstructor
-class Branch<A> extends BinaryTree<A> {
-    A data;
-    BinaryTree<A> left;
-    BinaryTree<A> right;
+class FlipTask<A> extends RecursiveTask<BinaryTree<A>> {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryTree<A> tree;
+    private final int level;
+    private final int splitDepth;
+
+    FlipTask(BinaryTree<A> tree, int level, int splitDepth) {
+        this.tree = tree;
+        this.level = level;
+        this.splitDepth = splitDepth;
+    }
 
     @Override
-    public String toString() {
-        return String.format("Branch(%s, %s, %s)", data, left, right);
+    protected BinaryTree<A> compute() {
+        if(!(tree instanceof Branch) || level >= splitDepth) return BinaryTree.flipped(tree).run();
+
+        Branch<A> current = (Branch<A>) tree;
+        FlipTask<A> right = new FlipTask<>(current.right, level + 1, splitDepth);
+        right.fork();
+        BinaryTree<A> left = new FlipTask<>(current.left, level + 1, splitDepth).compute();
+
+        return new Branch<>(current.data, right.join(), left);
+    }
+}
+
+/*
+    Compares two trees (mirrored or not) in parallel
+    The first task that finds a difference raises the shared mismatch flag: tasks that have not started are cancelled,
+    running ones stop at the next node they visit
+ */
+class CompareTask<A> extends RecursiveTask<Boolean> {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryTree<A> thisTree;
+    private final BinaryTree<A> thatTree;
+    private final boolean mirrored;
+    private final AtomicBoolean mismatch;
+    private final int level;
+    private final int splitDepth;
+
+    CompareTask(BinaryTree<A> thisTree, BinaryTree<A> thatTree, boolean mirrored, AtomicBoolean mismatch, int level, int splitDepth) {
+        this.thisTree = thisTree;
+        this.thatTree = thatTree;
+        this.mirrored = mirrored;
+        this.mismatch = mismatch;
+        this.level = level;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected Boolean compute() {
+        if(mismatch.get()) return false;
+
+        // a view is its source compared the other way round
+        if(thisTree instanceof Flipped) {
+            return new CompareTask<>(((Flipped<A>) thisTree).source, thatTree, !mirrored, mismatch, level, splitDepth).compute();
+        }
+
+        if(thatTree instanceof Flipped) {
+            return new CompareTask<>(thisTree, ((Flipped<A>) thatTree).source, !mirrored, mismatch, level, splitDepth).compute();
+        }
+
+        if(!(thisTree instanceof Branch) || !(thatTree instanceof Branch) || level >= splitDepth) {
+            return found(BinaryTree.equal(thisTree, thatTree, mirrored, mismatch).run());
+        }
+
+        Branch<A> thisBranch = (Branch<A>) thisTree;
+        Branch<A> thatBranch = (Branch<A>) thatTree;
+
+        // same checks as the sequential compare: shared subtrees, sizes, hashes and values
+        if(thisBranch == thatBranch && !mirrored) return true;
+
+        int thisHash = mirrored ? thisBranch.mirrorHash : thisBranch.hash;
+
+        if(thisBranch.size != thatBranch.size || thisHash != thatBranch.hash || !thisBranch.data.equals(thatBranch.data)) {
+            return found(false);
+        }
+
+        CompareTask<A> left = new CompareTask<>(thisBranch.left, mirrored ? thatBranch.right : thatBranch.left,
+                mirrored, mismatch, level + 1, splitDepth);
+        left.fork();
+
+        boolean right = new CompareTask<>(thisBranch.right, mirrored ? thatBranch.left : thatBranch.right,
+                mirrored, mismatch, level + 1, splitDepth).compute();
+
+        if(!right) {
+            left.cancel(false);
+            return false;
+        }
+
+        return left.join();
+    }
+
+    private boolean found(boolean same) {
+        if(!same) mismatch.set(true);
+        return same;
     }
 }
 
@@ -36,12 +131,23 @@ class Branch<A> extends BinaryTree<A> {
 /*
     Binary Tree functionality
  */
-interface IBinaryTree<A> {
+interface IBinaryTree<A> extends Iterable<A> {
     Integer size();
     Integer depth();
     Boolean compare(BinaryTree<A> that);
     BinaryTree<A> flip();
     boolean flipEqual(BinaryTree<A> that);
+    Boolean compare(BinaryTree<A> that, Parallelism parallelism);
+    BinaryTree<A> flip(Parallelism parallelism);
+    boolean flipEqual(BinaryTree<A> that, Parallelism parallelism);
+    boolean isEmpty();
+    A value();
+    BinaryTree<A> left();
+    BinaryTree<A> right();
+    Iterator<A> preOrderIterator();
+    Iterator<A> postOrderIterator();
+    Iterator<A> levelOrderIterator();
+    datastructure.mutable.tree.BinaryTree<A> thaw();
 }
 
 /*
@@ -51,123 +157,453 @@ public class BinaryTree<A> implements IBinaryTree<A> {
 
     static Leaf leaf = new Leaf();
 
+    /*
+        Structural hash of the empty tree
+     */
+    static final int LEAF_HASH = 1;
+
     /*
         Initializes Binary tree
+        The first item is the root, the next half of the items make the left subtree and the rest the right subtree
+        Subtrees are built from index ranges of the same array, O(n)
      */
     public static <B> BinaryTree<B> of(B... items) {
-        if(items.length == 0) {
+        return of(items, 0, items.length);
+    }
+
+    private static <B> BinaryTree<B> of(B[] items, int from, int to) {
+        if(from == to) {
             return leaf;
         }
 
-        int[] half = {items.length / 2, items.length / 2};
+        int middle = from + 1 + (to - from) / 2;
+
+        return new Branch<>(items[from], of(items, from + 1, middle), of(items, middle, to));
+    }
 
-        B head = items[0];
-        B[] leftItems = (B[])Arrays.stream(items).skip(1).takeWhile(elem -> half[0]-- > 0).toArray();
-        B[] rightItems =  (B[])Arrays.stream(items).skip(1).dropWhile(elem -> half[1]-- > 0).toArray();
+    public static <B> BinaryTree<B> empty() {
+        return leaf;
+    }
 
-        return new Branch<>(head, of(leftItems), of(rightItems));
+    /*
+        Creates the tree holding data over two existing trees, O(1)
+        The subtrees are shared, not copied
+     */
+    public static <B> BinaryTree<B> branch(B data, BinaryTree<B> left, BinaryTree<B> right) {
+        return new Branch<>(data, left, right);
     }
 
     protected BinaryTree() {}
 
+    @Override
+    public boolean isEmpty() {
+        return this.isLeaf();
+    }
+
     /*
-      Return the size of the tree
-      Size of the tree is the number of nodes in the tree (Leaf nodes excluded)
+        Value of the root
+        Throws NoSuchElementException if the tree is empty
     */
     @Override
-    public Integer size() {
-        if(this.isLeaf()) return 0;
+    public A value() {
+        if(this.isLeaf()) throw new NoSuchElementException("Tree is empty");
 
-        Branch<A> current = (Branch) this;
+        return node(this).data;
+    }
 
-        return 1 + current.left.size() + current.right.size();
+    /*
+        Left subtree of the root, O(1)
+        The left subtree of a view is the flipped right subtree of its source
+        Throws NoSuchElementException if the tree is empty
+    */
+    @Override
+    public BinaryTree<A> left() {
+        if(this.isLeaf()) throw new NoSuchElementException("Tree is empty");
+
+        if(this instanceof Flipped) return ((Flipped<A>) this).source.right.flip();
+
+        return ((Branch<A>) this).left;
     }
 
     /*
-        Depth is the length of the longest path from root to leaf
-   */
+        Right subtree of the root, O(1)
+        Throws NoSuchElementException if the tree is empty
+    */
     @Override
-    public Integer depth() {
-        if(this.isLeaf()) return 0;
+    public BinaryTree<A> right() {
+        if(this.isLeaf()) throw new NoSuchElementException("Tree is empty");
 
-        Branch<A> current = (Branch) this;
+        if(this instanceof Flipped) return ((Flipped<A>) this).source.left.flip();
 
-        return 1 + Math.max(current.left.depth(), current.right.depth());
+        return ((Branch<A>) this).right;
     }
 
     /*
-        Compares two trees
-        return true if they are equal (values and structure)
-   */
+        Mutable tree sharing the nodes of this tree, O(1)
+        See datastructure.mutable.tree.BinaryTree.thaw
+    */
     @Override
-    public Boolean compare(BinaryTree<A> that) {
+    public datastructure.mutable.tree.BinaryTree<A> thaw() {
+        return datastructure.mutable.tree.BinaryTree.thaw(this);
+    }
 
-        if(this.isLeaf() && that.isLeaf()) {
+    /*
+        In order iterator, the path still to visit is kept on an explicit stack
+        The iterators walk a view as its source with the subtrees swapped: next to each node they keep
+        whether it is read mirrored, so no node is allocated on the way
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+            final ArrayDeque<Boolean> mirrors = new ArrayDeque<>();
 
-            return true;
+            {
+                pushLeftPath(BinaryTree.this, false);
+            }
 
-        } else if (this.isNotLeaf() && that.isNotLeaf()) {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
 
-            Branch<A> thisTree = ((Branch<A>)this);
-            Branch<A> thatTree = ((Branch<A>)that);
+            @Override
+            public A next() {
+                if(stack.isEmpty()) throw new NoSuchElementException();
 
-            if(thisTree.data.equals(thatTree.data)) {
+                Branch<A> current = stack.pop();
+                boolean mirrored = mirrors.pop();
+                pushLeftPath(second(current, mirrored), mirrored);
+                return current.data;
+            }
 
-                return thisTree.left.compare(thatTree.left) &&
-                        thisTree.right.compare(thatTree.right);
-            }else{
+            private void pushLeftPath(BinaryTree<A> tree, boolean mirrored) {
+                while(tree.isNotLeaf()) {
+                    mirrored ^= tree instanceof Flipped;
+                    Branch<A> current = node(tree);
+                    stack.push(current);
+                    mirrors.push(mirrored);
+                    tree = first(current, mirrored);
+                }
+            }
+        };
+    }
 
-                return false;
+    /*
+        Pre order iterator with an explicit stack
+    */
+    @Override
+    public Iterator<A> preOrderIterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+            final ArrayDeque<Boolean> mirrors = new ArrayDeque<>();
+
+            {
+                push(BinaryTree.this, false);
             }
 
-        } else {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
 
-            return false;
-        }
+            @Override
+            public A next() {
+                if(stack.isEmpty()) throw new NoSuchElementException();
+
+                Branch<A> current = stack.pop();
+                boolean mirrored = mirrors.pop();
+                push(second(current, mirrored), mirrored);
+                push(first(current, mirrored), mirrored);
+                return current.data;
+            }
+
+            private void push(BinaryTree<A> tree, boolean mirrored) {
+                if(tree.isLeaf()) return;
+
+                stack.push(node(tree));
+                mirrors.push(mirrored ^ tree instanceof Flipped);
+            }
+        };
+    }
+
+    /*
+        Post order iterator with an explicit stack
+        A node is returned once the walk comes back to it from its second subtree, each node on the stack
+        knows whether the walk went into that subtree already (a subtree may be shared by both sides of a node)
+    */
+    @Override
+    public Iterator<A> postOrderIterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+            final ArrayDeque<Boolean> mirrors = new ArrayDeque<>();
+            final ArrayDeque<Boolean> entered = new ArrayDeque<>();
+
+            {
+                pushPath(BinaryTree.this, false);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                if(stack.isEmpty()) throw new NoSuchElementException();
+
+                Branch<A> current = stack.pop();
+                mirrors.pop();
+                entered.pop();
+
+                if(!stack.isEmpty() && !entered.peek()) {
+                    entered.pop();
+                    entered.push(true);
+                    pushPath(second(stack.peek(), mirrors.peek()), mirrors.peek());
+                }
+
+                return current.data;
+            }
+
+            /*
+                Goes down to the first node in post order, preferring the first subtree
+            */
+            private void pushPath(BinaryTree<A> tree, boolean mirrored) {
+                while(tree.isNotLeaf()) {
+                    mirrored ^= tree instanceof Flipped;
+                    Branch<A> current = node(tree);
+                    boolean hasFirst = first(current, mirrored).isNotLeaf();
+                    stack.push(current);
+                    mirrors.push(mirrored);
+                    entered.push(!hasFirst);
+                    tree = hasFirst ? first(current, mirrored) : second(current, mirrored);
+                }
+            }
+        };
+    }
+
+    /*
+        Level order iterator with a queue
+    */
+    @Override
+    public Iterator<A> levelOrderIterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Branch<A>> queue = new ArrayDeque<>();
+            final ArrayDeque<Boolean> mirrors = new ArrayDeque<>();
+
+            {
+                add(BinaryTree.this, false);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                if(queue.isEmpty()) throw new NoSuchElementException();
+
+                Branch<A> current = queue.poll();
+                boolean mirrored = mirrors.poll();
+                add(first(current, mirrored), mirrored);
+                add(second(current, mirrored), mirrored);
+                return current.data;
+            }
+
+            private void add(BinaryTree<A> tree, boolean mirrored) {
+                if(tree.isLeaf()) return;
+
+                queue.add(node(tree));
+                mirrors.add(mirrored ^ tree instanceof Flipped);
+            }
+        };
+    }
+
+    /*
+      Return the size of the tree
+      Size of the tree is the number of nodes in the tree (Leaf nodes excluded)
+      Each node knows the size of its subtree, so this is O(1)
+    */
+    @Override
+    public Integer size() {
+        return this.isLeaf() ? 0 : node(this).size;
+    }
+
+    /*
+        Depth is the length of the longest path from root to leaf
+        Each node knows the height of its subtree, so this is O(1)
+   */
+    @Override
+    public Integer depth() {
+        return this.isLeaf() ? 0 : node(this).height;
+    }
+
+    /*
+        Compares two trees
+        return true if they are equal (values and structure)
+        Shared subtrees are not visited, and subtrees whose sizes or structural hashes differ are rejected in O(1)
+   */
+    @Override
+    public Boolean compare(BinaryTree<A> that) {
+        return equal(this, that, false, null).run();
     }
 
     /*
         Flip the tree left and right nodes
+        Returns a mirrored view of this tree in O(1), flipping a view returns the tree it was made from
+        size, depth, compare and flipEqual read views without copying them
     */
     @Override
     public BinaryTree<A> flip() {
+        if(this instanceof Flipped) return ((Flipped<A>) this).source;
+
+        return this.isLeaf() ? this : new Flipped<>((Branch<A>) this);
+    }
 
-        if(this.isLeaf()) return leaf;
+    /*
+        Copies the nodes of a view into a plain node, other trees are returned as they are
+        Views below the root are not copied, their flipped copy is their source
+    */
+    static <B> BinaryTree<B> materialize(BinaryTree<B> tree) {
+        return tree instanceof Flipped ? flipped(((Flipped<B>) tree).source).run() : tree;
+    }
+
+    /*
+        Builds the flipped copy of a tree, the flipped copy of a view is its source
+    */
+    static <B> Trampoline<BinaryTree<B>> flipped(BinaryTree<B> tree) {
+        if(tree.isLeaf()) return Trampoline.done(leaf);
 
-        Branch<A> current = (Branch<A>) this;
+        if(tree instanceof Flipped) return Trampoline.done(((Flipped<B>) tree).source);
 
-        return new Branch<>(current.data, current.right.flip(), current.left.flip());
+        Branch<B> current = (Branch<B>) tree;
+
+        return Trampoline.more(() -> flipped(current.right))
+                .flatMap(left -> flipped(current.left).map(right -> new Branch<>(current.data, left, right)));
     }
 
     /*
         Checks if "that" tree is the flip of the current tree (this)
+        Rejects in O(1) when the mirrored hash of this tree is not the hash of "that" tree
     */
     @Override
     public boolean flipEqual(BinaryTree<A> that) {
-        if(this.isLeaf() && that.isLeaf()) {
+        return equal(this, that, true, null).run();
+    }
+
+    /*
+        Compares two trees in parallel, stops all the tasks as soon as one finds a difference
+        (size and depth are cached in the nodes, so they have no parallel version)
+    */
+    @Override
+    public Boolean compare(BinaryTree<A> that, Parallelism parallelism) {
+        return parallelism.invoke(new CompareTask<>(this, that, false, new AtomicBoolean(), 0, parallelism.splitDepth()));
+    }
+
+    /*
+        Builds the flipped tree in parallel
+        Unlike flip, the result is a plain copy, for trees that are walked many times once flipped
+        Flipping a view returns the tree it was made from
+    */
+    @Override
+    public BinaryTree<A> flip(Parallelism parallelism) {
+        if(this instanceof Flipped) return ((Flipped<A>) this).source;
+
+        return parallelism.invoke(new FlipTask<>(this, 0, parallelism.splitDepth()));
+    }
+
+    /*
+        Checks in parallel if "that" tree is the flip of this tree, stops as soon as one task finds a difference
+    */
+    @Override
+    public boolean flipEqual(BinaryTree<A> that, Parallelism parallelism) {
+        return parallelism.invoke(new CompareTask<>(this, that, true, new AtomicBoolean(), 0, parallelism.splitDepth()));
+    }
+
+    /*
+        Compares two trees, when mirrored is true the left subtree of one tree
+        is compared with the right subtree of the other one
+        Gives up (returns false) once another task raised the mismatch flag, when there is one
+        A view is compared as its source with mirrored switched
+    */
+    static <B> Trampoline<Boolean> equal(BinaryTree<B> thisTree, BinaryTree<B> thatTree, boolean mirrored, AtomicBoolean mismatch) {
+        if(mismatch != null && mismatch.get()) return Trampoline.done(false);
+
+        if(thisTree instanceof Flipped) return equal(((Flipped<B>) thisTree).source, thatTree, !mirrored, mismatch);
+
+        if(thatTree instanceof Flipped) return equal(thisTree, ((Flipped<B>) thatTree).source, !mirrored, mismatch);
+
+        if(thisTree.isLeaf() && thatTree.isLeaf()) {
+
+            return Trampoline.done(true);
 
-            return true;
+        } else if (thisTree.isNotLeaf() && thatTree.isNotLeaf()) {
 
-        } else if (this.isNotLeaf() && that.isNotLeaf()) {
+            Branch<B> thisBranch = ((Branch<B>)thisTree);
+            Branch<B> thatBranch = ((Branch<B>)thatTree);
 
-            Branch<A> thisTree = ((Branch<A>)this);
-            Branch<A> thatTree = ((Branch<A>)that);
+            if(thisBranch == thatBranch && !mirrored) return Trampoline.done(true);
 
-            if(thisTree.data.equals(thatTree.data)) {
+            int thisHash = mirrored ? thisBranch.mirrorHash : thisBranch.hash;
 
-                return thisTree.left.flipEqual(thatTree.right) &&
-                        thisTree.right.flipEqual(thatTree.left);
+            if(thisBranch.size != thatBranch.size || thisHash != thatBranch.hash) return Trampoline.done(false);
+
+            if(thisBranch.data.equals(thatBranch.data)) {
+
+                BinaryTree<B> thatLeft = mirrored ? thatBranch.right : thatBranch.left;
+                BinaryTree<B> thatRight = mirrored ? thatBranch.left : thatBranch.right;
+
+                return Trampoline.more(() -> equal(thisBranch.left, thatLeft, mirrored, mismatch))
+                        .flatMap(same -> same ? equal(thisBranch.right, thatRight, mirrored, mismatch) : Trampoline.done(false));
             }else{
 
-                return false;
+                return Trampoline.done(false);
             }
 
         } else {
 
-            return false;
+            return Trampoline.done(false);
         }
     }
 
+    static int hashOf(BinaryTree<?> tree) {
+        if(tree instanceof Flipped) return ((Flipped<?>) tree).source.mirrorHash;
+
+        return tree instanceof Branch ? ((Branch<?>) tree).hash : LEAF_HASH;
+    }
+
+    static int mirrorHashOf(BinaryTree<?> tree) {
+        if(tree instanceof Flipped) return ((Flipped<?>) tree).source.hash;
+
+        return tree instanceof Branch ? ((Branch<?>) tree).mirrorHash : LEAF_HASH;
+    }
+
+    /*
+        Node holding the size and height of a non empty tree, the source node for a view
+    */
+    private static <B> Branch<B> node(BinaryTree<B> tree) {
+        return tree instanceof Flipped ? ((Flipped<B>) tree).source : (Branch<B>) tree;
+    }
+
+    /*
+        Subtree read first (left) and second (right) from a node, swapped when the node is read mirrored
+    */
+    private static <B> BinaryTree<B> first(Branch<B> node, boolean mirrored) {
+        return mirrored ? node.right : node.left;
+    }
+
+    private static <B> BinaryTree<B> second(Branch<B> node, boolean mirrored) {
+        return mirrored ? node.left : node.right;
+    }
+
+    /*
+        Combines the hash of a node value with the hashes of its subtrees, the order of the subtrees matters
+    */
+    static int hash(Object data, int leftHash, int rightHash) {
+        return (31 * Objects.hashCode(data) + leftHash) * 31 + rightHash;
+    }
+
     private Boolean isLeaf() {
         return this instanceof Leaf;
     }
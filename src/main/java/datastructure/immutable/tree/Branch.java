@@ -0,0 +1,48 @@
+package datastructure.immutable.tree;
+
+import lombok.Data;
+
+
+/*
+    Represents a non empty tree node
+    size, height and structural hashes of the subtree are computed once at construction,
+    mirrorHash is the hash the flipped subtree would have
+ */
+@Data
+class Branch<A> extends BinaryTree<A> {
+    A data;
+    BinaryTree<A> left;
+    BinaryTree<A> right;
+    int size;
+    int height;
+    int hash;
+    int mirrorHash;
+
+    Branch(A data, BinaryTree<A> left, BinaryTree<A> right) {
+        this.data = data;
+        this.left = left;
+        this.right = right;
+        this.size = 1 + left.size() + right.size();
+        this.height = 1 + Math.max(left.depth(), right.depth());
+        this.hash = BinaryTree.hash(data, hashOf(left), hashOf(right));
+        this.mirrorHash = BinaryTree.hash(data, mirrorHashOf(right), mirrorHashOf(left));
+    }
+
+    /*
+        Structural equality, same as compare
+     */
+    @Override
+    public boolean equals(Object that) {
+        return that instanceof BinaryTree && compare((BinaryTree<A>) that);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Branch(%s, %s, %s)", data, left, right);
+    }
+}
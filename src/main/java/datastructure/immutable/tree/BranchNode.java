@@ -0,0 +1,65 @@
+package datastructure.immutable.tree;
+
+import lombok.Getter;
+
+
+/*
+    Represents a non empty tree node
+    size (number of nodes), height and structural hash of the subtree are computed once at construction
+    owner is the TransientBinarySearchTree that created the node and may still change it in place,
+    it is null for nodes created by persistent operations
+    There are no setters: the children are only changed in place by their owner, which calls update() afterwards
+ */
+@Getter
+class BranchNode<A extends Comparable<A>> extends BinarySearchTree<A> {
+    A data;
+    BinarySearchTree<A> left;
+    BinarySearchTree<A> right;
+    int size;
+    int height;
+    int hash;
+    Object owner;
+
+    BranchNode(A data, BinarySearchTree<A> left, BinarySearchTree<A> right) {
+        this.data = data;
+        this.left = left;
+        this.right = right;
+        update();
+    }
+
+    BranchNode(A data, BinarySearchTree<A> left, BinarySearchTree<A> right, Object owner) {
+        this(data, left, right);
+        this.owner = owner;
+    }
+
+    /*
+        Computes size, height and hash from the children, again after the owner changed them in place
+     */
+    void update() {
+        this.size = 1 + left.size() + right.size();
+        this.height = 1 + Math.max(left.depth(), right.depth());
+        this.hash = BinaryTree.hash(data, hashOf(left), hashOf(right));
+    }
+
+    /*
+        Structural equality, same as compare
+     */
+    @Override
+    public boolean equals(Object that) {
+        return that instanceof BinarySearchTree && compare((BinarySearchTree<A>) that);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    static int hashOf(BinarySearchTree<?> tree) {
+        return tree instanceof BranchNode ? ((BranchNode<?>) tree).hash : BinaryTree.LEAF_HASH;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Branch(%s, %s, %s)", data, left, right);
+    }
+}
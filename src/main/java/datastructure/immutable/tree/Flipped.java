@@ -0,0 +1,32 @@
+package datastructure.immutable.tree;
+
+/*
+    Mirrored view of a non empty tree, returned by flip in O(1)
+    Nothing is copied: the left and right subtrees of the source are swapped when the view is read
+    A view can be the child of a node (see branch), the operations walking a tree read it as its mirrored source
+ */
+class Flipped<A> extends BinaryTree<A> {
+    final Branch<A> source;
+
+    Flipped(Branch<A> source) {
+        this.source = source;
+    }
+
+    /*
+        Structural equality, same as compare
+     */
+    @Override
+    public boolean equals(Object that) {
+        return that instanceof BinaryTree && compare((BinaryTree<A>) that);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.mirrorHash;
+    }
+
+    @Override
+    public String toString() {
+        return materialize(this).toString();
+    }
+}
@@ -0,0 +1,71 @@
+package datastructure.immutable.tree;
+
+import java.nio.ByteBuffer;
+
+
+/*
+    Fixed width binary encoding of the keys of a TreeSnapshot
+    Keys are read and written at absolute offsets, so a buffer can be shared by several readers
+ */
+public interface KeyCodec<A> {
+
+    /*
+        Number of bytes of every encoded key
+     */
+    int width();
+
+    void write(ByteBuffer buffer, int offset, A key);
+
+    A read(ByteBuffer buffer, int offset);
+
+    KeyCodec<Integer> INTEGER = new KeyCodec<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer key) {
+            buffer.putInt(offset, key);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    KeyCodec<Long> LONG = new KeyCodec<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long key) {
+            buffer.putLong(offset, key);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    KeyCodec<Double> DOUBLE = new KeyCodec<Double>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double key) {
+            buffer.putDouble(offset, key);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+}
@@ -0,0 +1,12 @@
+package datastructure.immutable.tree;
+
+/*
+    Represents an empty tree node
+ */
+class LeafNode extends BinarySearchTree {
+
+    @Override
+    public String toString() {
+        return "Leaf";
+    }
+}
@@ -0,0 +1,399 @@
+package datastructure.immutable.tree;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Represents a non empty LongTreeMap node, the key is stored unboxed and an empty subtree is null
+ */
+class LongMapNode<V> {
+    final long key;
+    final V value;
+    final LongMapNode<V> left;
+    final LongMapNode<V> right;
+    final int size;
+
+    LongMapNode(long key, V value, LongMapNode<V> left, LongMapNode<V> right) {
+        this.key = key;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.size = 1 + size(left) + size(right);
+    }
+
+    static int size(LongMapNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
+
+
+/*
+    In-order iterator over the nodes of a LongTreeMap whose keys are between from and to (both included)
+ */
+class LongMapNodeIterator<V> {
+    private final ArrayDeque<LongMapNode<V>> stack = new ArrayDeque<>();
+    private final long to;
+
+    LongMapNodeIterator(LongMapNode<V> root, long from, long to) {
+        this.to = to;
+        LongMapNode<V> current = root;
+
+        while(current != null) {
+            if(from <= current.key) {
+                stack.push(current);
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+    }
+
+    boolean hasNext() {
+        return !stack.isEmpty() && stack.peek().key <= to;
+    }
+
+    LongMapNode<V> next() {
+        if(!hasNext()) throw new NoSuchElementException();
+
+        LongMapNode<V> current = stack.pop();
+        LongMapNode<V> node = current.right;
+
+        while(node != null) {
+            stack.push(node);
+            node = node.left;
+        }
+
+        return current;
+    }
+}
+
+
+/*
+    LongTreeMap functionality
+ */
+interface ILongTreeMap<V> {
+    boolean isEmpty();
+    int size();
+    Optional<V> get(long key);
+    boolean containsKey(long key);
+    LongTreeMap<V> put(long key, V value);
+    LongTreeMap<V> remove(long key);
+    LongTreeMap<V> computeIfAbsent(long key, LongFunction<? extends V> f);
+    OptionalLong firstKey();
+    OptionalLong lastKey();
+    void traverse(LongTreeMap.EntryConsumer<? super V> consumer);
+    void traverse(long from, long to, LongTreeMap.EntryConsumer<? super V> consumer);
+    LongStream keys();
+    LongStream keys(long from, long to);
+}
+
+
+/*
+    Persistent sorted map with long keys
+    Same as TreeMap but specialized for long keys, so lookups and traversals never box the key
+ */
+public class LongTreeMap<V> implements ILongTreeMap<V> {
+
+    /*
+        Receives the entries of a LongTreeMap without boxing the key
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    /*
+        Only one empty map is required
+     */
+    private static final LongTreeMap<?> empty = new LongTreeMap<>(null);
+
+    private final LongMapNode<V> root;
+
+    private LongTreeMap(LongMapNode<V> root) {
+        this.root = root;
+    }
+
+    public static <V> LongTreeMap<V> empty() {
+        return (LongTreeMap<V>) empty;
+    }
+
+    /*
+        returns true if the map has no entries
+    */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /*
+        Returns the number of entries, O(1)
+    */
+    @Override
+    public int size() {
+        return LongMapNode.size(root);
+    }
+
+    /*
+        Returns the value mapped to key, O(log n)
+    */
+    @Override
+    public Optional<V> get(long key) {
+        LongMapNode<V> node = find(key);
+        return node == null ? Optional.empty() : Optional.ofNullable(node.value);
+    }
+
+    /*
+        returns true if the map has an entry for key, O(log n)
+    */
+    @Override
+    public boolean containsKey(long key) {
+        return find(key) != null;
+    }
+
+    /*
+        Maps key to value, replacing the previous value, O(log n)
+        Returns the same map if key is already mapped to this value
+    */
+    @Override
+    public LongTreeMap<V> put(long key, V value) {
+        return withRoot(insert(root, key, k -> value, true));
+    }
+
+    /*
+        Removes the entry of key, O(log n)
+        Returns the same map if there is no such entry
+    */
+    @Override
+    public LongTreeMap<V> remove(long key) {
+        return withRoot(delete(root, key));
+    }
+
+    /*
+        Maps key to f(key) if it has no entry yet, in a single descent, O(log n)
+        Returns the same map if key already has an entry or f returns null
+    */
+    @Override
+    public LongTreeMap<V> computeIfAbsent(long key, LongFunction<? extends V> f) {
+        return withRoot(insert(root, key, f, false));
+    }
+
+    /*
+        Returns the smallest key
+    */
+    @Override
+    public OptionalLong firstKey() {
+        LongMapNode<V> current = root;
+        if(current == null) return OptionalLong.empty();
+
+        while(current.left != null) current = current.left;
+        return OptionalLong.of(current.key);
+    }
+
+    /*
+        Returns the greatest key
+    */
+    @Override
+    public OptionalLong lastKey() {
+        LongMapNode<V> current = root;
+        if(current == null) return OptionalLong.empty();
+
+        while(current.right != null) current = current.right;
+        return OptionalLong.of(current.key);
+    }
+
+    /*
+        Apply a consumer on each entry in key order
+    */
+    @Override
+    public void traverse(EntryConsumer<? super V> consumer) {
+        traverse(Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    /*
+        Apply a consumer on the entries whose key is between from and to (both included), in key order
+        Visits O(log n + k) nodes for k entries in the range
+    */
+    @Override
+    public void traverse(long from, long to, EntryConsumer<? super V> consumer) {
+        LongMapNodeIterator<V> iterator = new LongMapNodeIterator<>(root, from, to);
+
+        while(iterator.hasNext()) {
+            LongMapNode<V> node = iterator.next();
+            consumer.accept(node.key, node.value);
+        }
+    }
+
+    /*
+        Stream of the keys in ascending order
+    */
+    @Override
+    public LongStream keys() {
+        return keys(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /*
+        Lazy stream of the keys between from and to (both included), in ascending order
+    */
+    @Override
+    public LongStream keys(long from, long to) {
+        LongMapNodeIterator<V> nodes = new LongMapNodeIterator<>(root, from, to);
+
+        PrimitiveIterator.OfLong iterator = new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return nodes.next().key;
+            }
+        };
+
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.IMMUTABLE;
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "LongTreeMap(", ")");
+        traverse((key, value) -> joiner.add(key + " -> " + value));
+        return joiner.toString();
+    }
+
+    private LongTreeMap<V> withRoot(LongMapNode<V> node) {
+        return node == root ? this : new LongTreeMap<>(node);
+    }
+
+    private LongMapNode<V> find(long key) {
+        LongMapNode<V> current = root;
+
+        while(current != null) {
+            if(key == current.key) return current;
+
+            current = key < current.key ? current.left : current.right;
+        }
+
+        return null;
+    }
+
+    /*
+        Adds the entry key -> f(key), or replaces the value of an existing entry when replace is true
+        Unchanged subtrees are returned as is, so the caller can tell that nothing changed
+    */
+    private static <V> LongMapNode<V> insert(LongMapNode<V> node, long key, LongFunction<? extends V> f, boolean replace) {
+        if(node == null) {
+            V value = f.apply(key);
+
+            // computeIfAbsent does not record null values
+            return value == null && !replace ? null : new LongMapNode<>(key, value, null, null);
+        }
+
+        if(key < node.key) {
+            LongMapNode<V> left = insert(node.left, key, f, replace);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        } else if(key > node.key) {
+            LongMapNode<V> right = insert(node.right, key, f, replace);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        } else {
+            if(!replace) return node;
+
+            V value = f.apply(key);
+            return value == node.value ? node : new LongMapNode<>(key, value, node.left, node.right);
+        }
+    }
+
+    private static <V> LongMapNode<V> delete(LongMapNode<V> node, long key) {
+        if(node == null) return null;
+
+        if(key < node.key) {
+            LongMapNode<V> left = delete(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        } else if(key > node.key) {
+            LongMapNode<V> right = delete(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        } else {
+            return glue(node.left, node.right);
+        }
+    }
+
+    /*
+        Joins two balanced subtrees whose sizes are within DELTA, all keys of left being smaller than the keys of right
+    */
+    private static <V> LongMapNode<V> glue(LongMapNode<V> left, LongMapNode<V> right) {
+        if(left == null) return right;
+        if(right == null) return left;
+
+        if(left.size > right.size) {
+            LongMapNode<V> max = left;
+            while(max.right != null) max = max.right;
+            return balance(max.key, max.value, deleteMax(left), right);
+        } else {
+            LongMapNode<V> min = right;
+            while(min.left != null) min = min.left;
+            return balance(min.key, min.value, left, deleteMin(right));
+        }
+    }
+
+    private static <V> LongMapNode<V> deleteMin(LongMapNode<V> node) {
+        if(node.left == null) return node.right;
+        return balance(node.key, node.value, deleteMin(node.left), node.right);
+    }
+
+    private static <V> LongMapNode<V> deleteMax(LongMapNode<V> node) {
+        if(node.right == null) return node.left;
+        return balance(node.key, node.value, node.left, deleteMax(node.right));
+    }
+
+    /*
+        Creates a node, rotating if one side became more than DELTA times bigger than the other
+    */
+    private static <V> LongMapNode<V> balance(long key, V value, LongMapNode<V> left, LongMapNode<V> right) {
+        int leftSize = LongMapNode.size(left);
+        int rightSize = LongMapNode.size(right);
+
+        if(leftSize + rightSize > 1) {
+            if(rightSize > BinarySearchTree.DELTA * leftSize) return rotateLeft(key, value, left, right);
+
+            if(leftSize > BinarySearchTree.DELTA * rightSize) return rotateRight(key, value, left, right);
+        }
+
+        return new LongMapNode<>(key, value, left, right);
+    }
+
+    private static <V> LongMapNode<V> rotateLeft(long key, V value, LongMapNode<V> left, LongMapNode<V> right) {
+        if(LongMapNode.size(right.left) < BinarySearchTree.RATIO * LongMapNode.size(right.right)) {
+            // single rotation
+            return new LongMapNode<>(right.key, right.value, new LongMapNode<>(key, value, left, right.left), right.right);
+        }
+
+        // double rotation
+        LongMapNode<V> middle = right.left;
+        return new LongMapNode<>(middle.key, middle.value,
+                new LongMapNode<>(key, value, left, middle.left),
+                new LongMapNode<>(right.key, right.value, middle.right, right.right));
+    }
+
+    private static <V> LongMapNode<V> rotateRight(long key, V value, LongMapNode<V> left, LongMapNode<V> right) {
+        if(LongMapNode.size(left.right) < BinarySearchTree.RATIO * LongMapNode.size(left.left)) {
+            // single rotation
+            return new LongMapNode<>(left.key, left.value, left.left, new LongMapNode<>(key, value, left.right, right));
+        }
+
+        // double rotation
+        LongMapNode<V> middle = left.right;
+        return new LongMapNode<>(middle.key, middle.value,
+                new LongMapNode<>(left.key, left.value, left.left, middle.left),
+                new LongMapNode<>(key, value, middle.right, right));
+    }
+}
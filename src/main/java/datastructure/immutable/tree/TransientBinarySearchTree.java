@@ -0,0 +1,241 @@
+package datastructure.immutable.tree;
+
+import java.util.Optional;
+
+
+/*
+    TransientBinarySearchTree functionality
+ */
+interface ITransientBinarySearchTree<A extends Comparable<A>> {
+    int size();
+    Optional<A> find(A key);
+    TransientBinarySearchTree<A> insert(A data);
+    TransientBinarySearchTree<A> delete(A key);
+    BinarySearchTree<A> persistent();
+}
+
+
+/*
+    Batch-mutable version of a BinarySearchTree (a transient, as in Clojure)
+
+    Nodes created by the transient are tagged with its owner token and are changed in place by later updates,
+    nodes shared with the source tree are copied once (the first time an update goes through them)
+    so loading n keys allocates about n nodes instead of n root-to-leaf paths
+    persistent() drops the owner token in O(1): from then on no node can change, and the transient cannot be used anymore
+    A transient is meant to be used by one thread for one batch, it is not thread safe
+ */
+public class TransientBinarySearchTree<A extends Comparable<A>> implements ITransientBinarySearchTree<A> {
+
+    private BinarySearchTree<A> root;
+    private Object owner = new Object();
+
+    /*
+        Set by the last insert or delete when a key was added or removed
+        (an updated child can be the same node changed in place, so identity does not tell)
+     */
+    private boolean changed;
+
+    TransientBinarySearchTree(BinarySearchTree<A> root) {
+        this.root = root;
+    }
+
+    /*
+        Returns the number of keys, O(1)
+    */
+    @Override
+    public int size() {
+        ensureEditable();
+        return root.size();
+    }
+
+    /*
+        Finds key in the current state of the batch, O(log n)
+    */
+    @Override
+    public Optional<A> find(A key) {
+        ensureEditable();
+        return root.find(key);
+    }
+
+    /*
+        Adds a key in place, O(log n)
+    */
+    @Override
+    public TransientBinarySearchTree<A> insert(A data) {
+        ensureEditable();
+        changed = false;
+        root = insert(root, data);
+        return this;
+    }
+
+    /*
+        Removes a key in place, O(log n)
+    */
+    @Override
+    public TransientBinarySearchTree<A> delete(A key) {
+        ensureEditable();
+        changed = false;
+        root = delete(root, key);
+        return this;
+    }
+
+    /*
+        Freezes the batch into a persistent tree, O(1)
+    */
+    @Override
+    public BinarySearchTree<A> persistent() {
+        ensureEditable();
+        owner = null;
+        return root;
+    }
+
+    private void ensureEditable() {
+        if(owner == null) throw new IllegalStateException("Transient used after persistent() call");
+    }
+
+    private BinarySearchTree<A> insert(BinarySearchTree<A> tree, A data) {
+        if(tree instanceof LeafNode) {
+            changed = true;
+            return new BranchNode<>(data, BinarySearchTree.leafNode, BinarySearchTree.leafNode, owner);
+        }
+
+        BranchNode<A> node = (BranchNode<A>) tree;
+        int comparison = data.compareTo(node.data);
+
+        if(comparison < 0) {
+            BinarySearchTree<A> left = insert(node.left, data);
+            if(!changed) return node;
+
+            BranchNode<A> editable = editable(node);
+            editable.left = left;
+            return balance(editable);
+        } else if(comparison > 0) {
+            BinarySearchTree<A> right = insert(node.right, data);
+            if(!changed) return node;
+
+            BranchNode<A> editable = editable(node);
+            editable.right = right;
+            return balance(editable);
+        } else {
+            return node;
+        }
+    }
+
+    /*
+        A node holding both children is replaced by the minimum of its right subtree
+        or the maximum of its left subtree, whichever is bigger, as in BinarySearchTree.delete
+    */
+    private BinarySearchTree<A> delete(BinarySearchTree<A> tree, A key) {
+        if(tree instanceof LeafNode) return tree;
+
+        BranchNode<A> node = (BranchNode<A>) tree;
+        int comparison = key.compareTo(node.data);
+
+        if(comparison == 0) {
+            changed = true;
+
+            if(node.left instanceof LeafNode) return node.right;
+            if(node.right instanceof LeafNode) return node.left;
+        }
+
+        BranchNode<A> editable;
+
+        if(comparison < 0) {
+            BinarySearchTree<A> left = delete(node.left, key);
+            if(!changed) return node;
+
+            editable = editable(node);
+            editable.left = left;
+        } else if(comparison > 0) {
+            BinarySearchTree<A> right = delete(node.right, key);
+            if(!changed) return node;
+
+            editable = editable(node);
+            editable.right = right;
+        } else if(node.left.size() > node.right.size()) {
+            A max = BinarySearchTree.max(node.left);
+            editable = editable(node);
+            editable.left = delete(node.left, max);
+            editable.data = max;
+        } else {
+            A min = BinarySearchTree.min(node.right);
+            editable = editable(node);
+            editable.right = delete(node.right, min);
+            editable.data = min;
+        }
+
+        return balance(editable);
+    }
+
+    /*
+        Returns the node itself if this transient owns it, otherwise a copy owned by this transient
+    */
+    private BranchNode<A> editable(BranchNode<A> node) {
+        return node.owner == owner ? node : new BranchNode<>(node.data, node.left, node.right, owner);
+    }
+
+    /*
+        Same rotations as BinarySearchTree.balance, but the editable nodes are rewired in place
+    */
+    private BranchNode<A> balance(BranchNode<A> node) {
+        int leftSize = node.left.size();
+        int rightSize = node.right.size();
+
+        if(leftSize + rightSize > 1) {
+            if(rightSize > BinarySearchTree.DELTA * leftSize) return rotateLeft(node);
+
+            if(leftSize > BinarySearchTree.DELTA * rightSize) return rotateRight(node);
+        }
+
+        node.update();
+        return node;
+    }
+
+    private BranchNode<A> rotateLeft(BranchNode<A> node) {
+        BranchNode<A> right = editable((BranchNode<A>) node.right);
+
+        if(right.left.size() < BinarySearchTree.RATIO * right.right.size()) {
+            // single rotation
+            node.right = right.left;
+            node.update();
+            right.left = node;
+            right.update();
+            return right;
+        }
+
+        // double rotation
+        BranchNode<A> middle = editable((BranchNode<A>) right.left);
+        node.right = middle.left;
+        node.update();
+        right.left = middle.right;
+        right.update();
+        middle.left = node;
+        middle.right = right;
+        middle.update();
+        return middle;
+    }
+
+    private BranchNode<A> rotateRight(BranchNode<A> node) {
+        BranchNode<A> left = editable((BranchNode<A>) node.left);
+
+        if(left.right.size() < BinarySearchTree.RATIO * left.left.size()) {
+            // single rotation
+            node.left = left.right;
+            node.update();
+            left.right = node;
+            left.update();
+            return left;
+        }
+
+        // double rotation
+        BranchNode<A> middle = editable((BranchNode<A>) left.right);
+        node.left = middle.right;
+        node.update();
+        left.right = middle.left;
+        left.update();
+        middle.left = left;
+        middle.right = node;
+        middle.update();
+        return middle;
+    }
+}
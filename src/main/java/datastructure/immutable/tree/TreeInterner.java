@@ -0,0 +1,94 @@
+package datastructure.immutable.tree;
+
+import datastructure.util.Trampoline;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/*
+    TreeInterner functionality
+ */
+interface ITreeInterner {
+    <A> BinaryTree<A> intern(BinaryTree<A> tree);
+    <A extends Comparable<A>> BinarySearchTree<A> intern(BinarySearchTree<A> tree);
+    <A> BinaryTree<A> branch(A data, BinaryTree<A> left, BinaryTree<A> right);
+    int size();
+}
+
+
+/*
+    Hash-consing factory for immutable trees: equal subtrees are replaced by a single shared instance
+
+    Trees are interned bottom-up, so the children of a canonical node are canonical themselves
+    and looking up a node costs O(1): its cached hash picks the bucket and compare stops at the shared children
+    Interned trees compare in O(1) once they are equal, since equal trees are then the same instance
+    The table keeps the canonical nodes alive as long as the interner is reachable
+    Only persistent trees should be interned (not the nodes of a transient that is still in use)
+ */
+public class TreeInterner implements ITreeInterner {
+
+    private final ConcurrentHashMap<Object, Object> nodes = new ConcurrentHashMap<>();
+
+    /*
+        Returns the canonical instance of tree, interning its subtrees on the way, O(n)
+        Nodes whose subtrees are already canonical are not copied
+    */
+    @Override
+    public <A> BinaryTree<A> intern(BinaryTree<A> tree) {
+        return interned(tree).run();
+    }
+
+    private <A> Trampoline<BinaryTree<A>> interned(BinaryTree<A> tree) {
+        // canonical nodes are plain nodes, views are copied first
+        if(tree instanceof Flipped) return Trampoline.more(() -> interned(BinaryTree.materialize(tree)));
+
+        if(!(tree instanceof Branch)) return Trampoline.done(tree);
+
+        Branch<A> current = (Branch<A>) tree;
+
+        return Trampoline.more(() -> interned(current.left))
+                .flatMap(left -> interned(current.right)
+                        .map(right -> canonical(left == current.left && right == current.right ? current : new Branch<>(current.data, left, right))));
+    }
+
+    /*
+        Returns the canonical instance of tree, interning its subtrees on the way, O(n)
+        The tree is balanced, so the recursion is only O(log n) deep
+    */
+    @Override
+    public <A extends Comparable<A>> BinarySearchTree<A> intern(BinarySearchTree<A> tree) {
+        if(!(tree instanceof BranchNode)) return tree;
+
+        BranchNode<A> current = (BranchNode<A>) tree;
+        BinarySearchTree<A> left = intern(current.left);
+        BinarySearchTree<A> right = intern(current.right);
+
+        return canonical(left == current.left && right == current.right ? current : new BranchNode<>(current.data, left, right));
+    }
+
+    /*
+        Creates the canonical node holding data over two trees returned by this interner
+        Flipped views are materialized and interned first (O(n)), so canonical nodes never hold a view
+    */
+    @Override
+    public <A> BinaryTree<A> branch(A data, BinaryTree<A> left, BinaryTree<A> right) {
+        return canonical(new Branch<>(data, child(left), child(right)));
+    }
+
+    private <A> BinaryTree<A> child(BinaryTree<A> tree) {
+        return tree instanceof Flipped ? intern(tree) : tree;
+    }
+
+    /*
+        Number of canonical nodes
+    */
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    private <T> T canonical(T candidate) {
+        Object existing = nodes.putIfAbsent(candidate, candidate);
+        return existing == null ? candidate : (T) existing;
+    }
+}
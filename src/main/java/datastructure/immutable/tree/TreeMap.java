@@ -0,0 +1,404 @@
+package datastructure.immutable.tree;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    Represents a non empty TreeMap node, an empty subtree is null
+    The node is the map entry itself, so iterating a map does not allocate entries
+    size of the subtree is computed once at construction
+ */
+class MapNode<K, V> extends AbstractMap.SimpleImmutableEntry<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    final MapNode<K, V> left;
+    final MapNode<K, V> right;
+    final int size;
+
+    MapNode(K key, V value, MapNode<K, V> left, MapNode<K, V> right) {
+        super(key, value);
+        this.left = left;
+        this.right = right;
+        this.size = 1 + size(left) + size(right);
+    }
+
+    static int size(MapNode<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
+
+
+/*
+    In-order iterator over the entries of a TreeMap, the path still to visit is kept on an explicit stack
+ */
+class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+    private final ArrayDeque<MapNode<K, V>> stack = new ArrayDeque<>();
+
+    /*
+        Iterates all entries
+     */
+    EntryIterator(MapNode<K, V> root) {
+        pushLeftPath(root);
+    }
+
+    /*
+        Iterates the entries whose key is greater than or equal to from
+     */
+    EntryIterator(MapNode<K, V> root, K from, Comparator<? super K> comparator) {
+        MapNode<K, V> current = root;
+
+        while(current != null) {
+            if(comparator.compare(from, current.getKey()) <= 0) {
+                stack.push(current);
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !stack.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if(stack.isEmpty()) throw new NoSuchElementException();
+
+        MapNode<K, V> current = stack.pop();
+        pushLeftPath(current.right);
+        return current;
+    }
+
+    private void pushLeftPath(MapNode<K, V> node) {
+        while(node != null) {
+            stack.push(node);
+            node = node.left;
+        }
+    }
+}
+
+
+/*
+    TreeMap functionality
+ */
+interface ITreeMap<K, V> extends Iterable<Map.Entry<K, V>> {
+    boolean isEmpty();
+    int size();
+    Comparator<? super K> comparator();
+    Optional<V> get(K key);
+    boolean containsKey(K key);
+    TreeMap<K, V> put(K key, V value);
+    TreeMap<K, V> remove(K key);
+    TreeMap<K, V> computeIfAbsent(K key, Function<? super K, ? extends V> f);
+    Optional<Map.Entry<K, V>> firstEntry();
+    Optional<Map.Entry<K, V>> lastEntry();
+    Stream<Map.Entry<K, V>> entries();
+    Stream<Map.Entry<K, V>> entries(K from, K to);
+}
+
+
+/*
+    Persistent sorted map
+    Same weight balanced tree as BinarySearchTree (same DELTA and RATIO) but each node holds a key and a value,
+    and keys are ordered by a Comparator instead of their natural order
+    Lookups take the key itself, there is no need to build a probe entry
+    put and remove copy the path from the root, the rest of the tree is shared with the previous version
+ */
+public class TreeMap<K, V> implements ITreeMap<K, V> {
+
+    /*
+        Only one empty map in natural order is required
+     */
+    private static final TreeMap<?, ?> empty = new TreeMap<>((Comparator<Object>) (Comparator<?>) Comparator.naturalOrder(), null);
+
+    private static final int CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private final Comparator<? super K> comparator;
+    private final MapNode<K, V> root;
+
+    private TreeMap(Comparator<? super K> comparator, MapNode<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /*
+        Empty map ordered by the natural order of the keys
+     */
+    public static <K extends Comparable<? super K>, V> TreeMap<K, V> empty() {
+        return (TreeMap<K, V>) empty;
+    }
+
+    /*
+        Empty map ordered by comparator
+     */
+    public static <K, V> TreeMap<K, V> empty(Comparator<? super K> comparator) {
+        return new TreeMap<>(comparator, null);
+    }
+
+    /*
+        returns true if the map has no entries
+    */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /*
+        Returns the number of entries, O(1)
+    */
+    @Override
+    public int size() {
+        return MapNode.size(root);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    /*
+        Returns the value mapped to key, O(log n)
+    */
+    @Override
+    public Optional<V> get(K key) {
+        MapNode<K, V> node = find(key);
+        return node == null ? Optional.empty() : Optional.ofNullable(node.getValue());
+    }
+
+    /*
+        returns true if the map has an entry for key, O(log n)
+    */
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    /*
+        Maps key to value, replacing the previous value, O(log n)
+        Returns the same map if key is already mapped to this value
+    */
+    @Override
+    public TreeMap<K, V> put(K key, V value) {
+        return withRoot(insert(root, key, k -> value, true));
+    }
+
+    /*
+        Removes the entry of key, O(log n)
+        Returns the same map if there is no such entry
+    */
+    @Override
+    public TreeMap<K, V> remove(K key) {
+        return withRoot(delete(root, key));
+    }
+
+    /*
+        Maps key to f(key) if it has no entry yet, in a single descent, O(log n)
+        Returns the same map if key already has an entry or f returns null
+    */
+    @Override
+    public TreeMap<K, V> computeIfAbsent(K key, Function<? super K, ? extends V> f) {
+        return withRoot(insert(root, key, f, false));
+    }
+
+    /*
+        Returns the entry with the smallest key
+    */
+    @Override
+    public Optional<Map.Entry<K, V>> firstEntry() {
+        MapNode<K, V> current = root;
+        while(current != null && current.left != null) current = current.left;
+        return Optional.ofNullable(current);
+    }
+
+    /*
+        Returns the entry with the greatest key
+    */
+    @Override
+    public Optional<Map.Entry<K, V>> lastEntry() {
+        MapNode<K, V> current = root;
+        while(current != null && current.right != null) current = current.right;
+        return Optional.ofNullable(current);
+    }
+
+    /*
+        Iterates the entries in key order
+    */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+    }
+
+    /*
+        Sequential stream of the entries in key order
+    */
+    @Override
+    public Stream<Map.Entry<K, V>> entries() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size(), CHARACTERISTICS), false);
+    }
+
+    /*
+        Lazy stream of the entries whose key is between from and to (both included), in key order
+        Reading the first k entries costs O(log n + k)
+    */
+    @Override
+    public Stream<Map.Entry<K, V>> entries(K from, K to) {
+        Iterator<Map.Entry<K, V>> iterator = new EntryIterator<>(root, from, comparator);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, CHARACTERISTICS), false)
+                .takeWhile(entry -> comparator.compare(entry.getKey(), to) <= 0);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "TreeMap(", ")");
+        forEach(entry -> joiner.add(entry.getKey() + " -> " + entry.getValue()));
+        return joiner.toString();
+    }
+
+    private TreeMap<K, V> withRoot(MapNode<K, V> node) {
+        return node == root ? this : new TreeMap<>(comparator, node);
+    }
+
+    private MapNode<K, V> find(K key) {
+        MapNode<K, V> current = root;
+
+        while(current != null) {
+            int comparison = comparator.compare(key, current.getKey());
+
+            if(comparison == 0) return current;
+
+            current = comparison < 0 ? current.left : current.right;
+        }
+
+        return null;
+    }
+
+    /*
+        Adds the entry key -> f(key), or replaces the value of an existing entry when replace is true
+        Unchanged subtrees are returned as is, so the caller can tell that nothing changed
+    */
+    private MapNode<K, V> insert(MapNode<K, V> node, K key, Function<? super K, ? extends V> f, boolean replace) {
+        if(node == null) {
+            V value = f.apply(key);
+
+            // computeIfAbsent does not record null values
+            return value == null && !replace ? null : new MapNode<>(key, value, null, null);
+        }
+
+        int comparison = comparator.compare(key, node.getKey());
+
+        if(comparison < 0) {
+            MapNode<K, V> left = insert(node.left, key, f, replace);
+            return left == node.left ? node : balance(node.getKey(), node.getValue(), left, node.right);
+        } else if(comparison > 0) {
+            MapNode<K, V> right = insert(node.right, key, f, replace);
+            return right == node.right ? node : balance(node.getKey(), node.getValue(), node.left, right);
+        } else {
+            if(!replace) return node;
+
+            V value = f.apply(key);
+            return value == node.getValue() ? node : new MapNode<>(node.getKey(), value, node.left, node.right);
+        }
+    }
+
+    private MapNode<K, V> delete(MapNode<K, V> node, K key) {
+        if(node == null) return null;
+
+        int comparison = comparator.compare(key, node.getKey());
+
+        if(comparison < 0) {
+            MapNode<K, V> left = delete(node.left, key);
+            return left == node.left ? node : balance(node.getKey(), node.getValue(), left, node.right);
+        } else if(comparison > 0) {
+            MapNode<K, V> right = delete(node.right, key);
+            return right == node.right ? node : balance(node.getKey(), node.getValue(), node.left, right);
+        } else {
+            return glue(node.left, node.right);
+        }
+    }
+
+    /*
+        Joins two balanced subtrees whose sizes are within DELTA, all keys of left being smaller than the keys of right
+    */
+    private static <K, V> MapNode<K, V> glue(MapNode<K, V> left, MapNode<K, V> right) {
+        if(left == null) return right;
+        if(right == null) return left;
+
+        if(left.size > right.size) {
+            MapNode<K, V> max = left;
+            while(max.right != null) max = max.right;
+            return balance(max.getKey(), max.getValue(), deleteMax(left), right);
+        } else {
+            MapNode<K, V> min = right;
+            while(min.left != null) min = min.left;
+            return balance(min.getKey(), min.getValue(), left, deleteMin(right));
+        }
+    }
+
+    private static <K, V> MapNode<K, V> deleteMin(MapNode<K, V> node) {
+        if(node.left == null) return node.right;
+        return balance(node.getKey(), node.getValue(), deleteMin(node.left), node.right);
+    }
+
+    private static <K, V> MapNode<K, V> deleteMax(MapNode<K, V> node) {
+        if(node.right == null) return node.left;
+        return balance(node.getKey(), node.getValue(), node.left, deleteMax(node.right));
+    }
+
+    /*
+        Creates a node, rotating if one side became more than DELTA times bigger than the other
+    */
+    private static <K, V> MapNode<K, V> balance(K key, V value, MapNode<K, V> left, MapNode<K, V> right) {
+        int leftSize = MapNode.size(left);
+        int rightSize = MapNode.size(right);
+
+        if(leftSize + rightSize > 1) {
+            if(rightSize > BinarySearchTree.DELTA * leftSize) return rotateLeft(key, value, left, right);
+
+            if(leftSize > BinarySearchTree.DELTA * rightSize) return rotateRight(key, value, left, right);
+        }
+
+        return new MapNode<>(key, value, left, right);
+    }
+
+    private static <K, V> MapNode<K, V> rotateLeft(K key, V value, MapNode<K, V> left, MapNode<K, V> right) {
+        if(MapNode.size(right.left) < BinarySearchTree.RATIO * MapNode.size(right.right)) {
+            // single rotation
+            return new MapNode<>(right.getKey(), right.getValue(), new MapNode<>(key, value, left, right.left), right.right);
+        }
+
+        // double rotation
+        MapNode<K, V> middle = right.left;
+        return new MapNode<>(middle.getKey(), middle.getValue(),
+                new MapNode<>(key, value, left, middle.left),
+                new MapNode<>(right.getKey(), right.getValue(), middle.right, right.right));
+    }
+
+    private static <K, V> MapNode<K, V> rotateRight(K key, V value, MapNode<K, V> left, MapNode<K, V> right) {
+        if(MapNode.size(left.right) < BinarySearchTree.RATIO * MapNode.size(left.left)) {
+            // single rotation
+            return new MapNode<>(left.getKey(), left.getValue(), left.left, new MapNode<>(key, value, left.right, right));
+        }
+
+        // double rotation
+        MapNode<K, V> middle = left.right;
+        return new MapNode<>(middle.getKey(), middle.getValue(),
+                new MapNode<>(left.getKey(), left.getValue(), left.left, middle.left),
+                new MapNode<>(key, value, middle.right, right));
+    }
+}
@@ -0,0 +1,276 @@
+package datastructure.immutable.tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/*
+    TreeSnapshot functionality
+ */
+interface ITreeSnapshot<A extends Comparable<A>> {
+    int size();
+    Optional<A> find(A key);
+    Optional<A> floor(A key);
+    Optional<A> ceiling(A key);
+    Stream<A> range(A from, A to);
+    Stream<A> stream();
+    BinarySearchTree<A> toTree();
+}
+
+
+/*
+    Read only BinarySearchTree stored in a memory mapped file
+
+    File layout: a 16 bytes header (magic, version, number of keys, key width) followed by the keys
+    in Eytzinger order: the implicit complete tree is stored level by level, the children of slot i are 2i + 1 and 2i + 2
+    The first levels of the tree share a few pages, which stay in memory after the first lookups
+    open() only maps the file, the pages holding the keys are loaded by the OS when a search first touches them,
+    so opening a snapshot takes the same time whatever its size
+    Keys are read at absolute offsets, so a snapshot can be searched by several threads
+    A snapshot is limited to one mapped buffer (2 GB)
+ */
+public class TreeSnapshot<A extends Comparable<A>> implements ITreeSnapshot<A> {
+
+    private static final int MAGIC = 0x42535453;
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+
+    private final ByteBuffer buffer;
+    private final KeyCodec<A> codec;
+    private final int size;
+    private final int width;
+
+    private TreeSnapshot(ByteBuffer buffer, KeyCodec<A> codec, int size) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.size = size;
+        this.width = codec.width();
+    }
+
+    /*
+        Writes the keys of tree to file in Eytzinger order, O(n)
+        The file is written through a mapped buffer, keys are taken from the in-order iterator of the tree
+     */
+    public static <B extends Comparable<B>> void write(BinarySearchTree<B> tree, KeyCodec<B> codec, Path file) throws IOException {
+        int size = tree.size();
+        long length = HEADER + (long) size * codec.width();
+
+        if(length > Integer.MAX_VALUE) throw new IllegalArgumentException("Tree is too big for a snapshot");
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, size);
+            buffer.putInt(12, codec.width());
+
+            // the in-order walk of the slots visits them in key order
+            int slot = first(size);
+
+            for(B key : tree) {
+                codec.write(buffer, HEADER + slot * codec.width(), key);
+                slot = next(slot, size);
+            }
+
+            buffer.force();
+        }
+    }
+
+    /*
+        Maps a snapshot written by write, O(1)
+        Throws IOException if the file is not a snapshot or its keys do not have the width of the codec
+     */
+    public static <B extends Comparable<B>> TreeSnapshot<B> open(Path file, KeyCodec<B> codec) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+
+            if(length < HEADER || length > Integer.MAX_VALUE) throw new IOException(file + " is not a tree snapshot");
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+
+            if(buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) throw new IOException(file + " is not a tree snapshot");
+
+            int size = buffer.getInt(8);
+
+            if(buffer.getInt(12) != codec.width()) throw new IOException("Keys of " + file + " do not match the codec width");
+
+            if(HEADER + (long) size * codec.width() != length) throw new IOException(file + " is truncated");
+
+            return new TreeSnapshot<>(buffer, codec, size);
+        }
+    }
+
+    /*
+        Returns the number of keys, O(1)
+    */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /*
+        Searches key from the root slot, O(log n)
+    */
+    @Override
+    public Optional<A> find(A key) {
+        int slot = 0;
+
+        while(slot < size) {
+            A current = key(slot);
+            int comparison = key.compareTo(current);
+
+            if(comparison == 0) return Optional.of(current);
+
+            slot = comparison < 0 ? 2 * slot + 1 : 2 * slot + 2;
+        }
+
+        return Optional.empty();
+    }
+
+    /*
+        Returns the greatest key less than or equal to key, O(log n)
+    */
+    @Override
+    public Optional<A> floor(A key) {
+        int slot = 0;
+        int floor = -1;
+
+        while(slot < size) {
+            if(key.compareTo(key(slot)) >= 0) {
+                floor = slot;
+                slot = 2 * slot + 2;
+            } else {
+                slot = 2 * slot + 1;
+            }
+        }
+
+        return floor < 0 ? Optional.empty() : Optional.of(key(floor));
+    }
+
+    /*
+        Returns the smallest key greater than or equal to key, O(log n)
+    */
+    @Override
+    public Optional<A> ceiling(A key) {
+        int slot = ceilingSlot(key);
+        return slot < 0 ? Optional.empty() : Optional.of(key(slot));
+    }
+
+    /*
+        Lazy stream of the keys between from and to (both included) in ascending order
+        Reading the first k keys costs O(log n + k)
+    */
+    @Override
+    public Stream<A> range(A from, A to) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(ceilingSlot(from)), CHARACTERISTICS), false)
+                .takeWhile(key -> key.compareTo(to) <= 0);
+    }
+
+    /*
+        Sequential stream of the keys in ascending order
+    */
+    @Override
+    public Stream<A> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(first(size)), size, CHARACTERISTICS), false);
+    }
+
+    /*
+        Loads the whole snapshot into a balanced BinarySearchTree, O(n)
+    */
+    @Override
+    public BinarySearchTree<A> toTree() {
+        return BinarySearchTree.fromSortedIterator(iterator(first(size)));
+    }
+
+    private static final int CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private A key(int slot) {
+        return codec.read(buffer, HEADER + slot * width);
+    }
+
+    private int ceilingSlot(A key) {
+        int slot = 0;
+        int ceiling = -1;
+
+        while(slot < size) {
+            if(key.compareTo(key(slot)) <= 0) {
+                ceiling = slot;
+                slot = 2 * slot + 1;
+            } else {
+                slot = 2 * slot + 2;
+            }
+        }
+
+        return ceiling;
+    }
+
+    /*
+        Iterates the keys in order from slot (-1 for none)
+    */
+    private Iterator<A> iterator(int from) {
+        return new Iterator<A>() {
+            int slot = from;
+
+            @Override
+            public boolean hasNext() {
+                return slot >= 0;
+            }
+
+            @Override
+            public A next() {
+                if(slot < 0) throw new NoSuchElementException();
+
+                A current = key(slot);
+                slot = TreeSnapshot.next(slot, size);
+                return current;
+            }
+        };
+    }
+
+    /*
+        Slot of the smallest key: the leftmost slot, -1 if there are no keys
+    */
+    private static int first(int size) {
+        if(size == 0) return -1;
+
+        int slot = 0;
+        while(2 * slot + 1 < size) slot = 2 * slot + 1;
+        return slot;
+    }
+
+    /*
+        In-order successor of slot in the implicit tree, -1 after the last key
+        Goes down to the leftmost slot of the right subtree, or up to the first ancestor reached from its left child
+    */
+    private static int next(int slot, int size) {
+        if(2 * slot + 2 < size) {
+            slot = 2 * slot + 2;
+            while(2 * slot + 1 < size) slot = 2 * slot + 1;
+            return slot;
+        }
+
+        while(slot > 0) {
+            int parent = (slot - 1) / 2;
+
+            if(slot == 2 * parent + 1) return parent;
+
+            slot = parent;
+        }
+
+        return -1;
+    }
+}
@@ -1,9 +1,16 @@
 package datastructure.mutable.tree;
 
+import datastructure.util.Parallelism;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /*
     Represents an empty tree node
@@ -33,20 +40,233 @@ Branch<A> extends BinaryTree<A> {
     }
 }
 
+/*
+    Non empty subtree shared with immutable trees (given to thaw or left by freeze)
+    The mutable tree owns its Branch nodes, the nodes of a shared subtree belong to the immutable trees:
+    they are never written, flipping it replaces the shared tree by its O(1) flipped view
+    The operations walking the tree hand a shared subtree to the immutable tree (size, depth, iterators, compare)
+    or read its nodes through the immutable accessors, no mutable node is built for them
+ */
+class Shared<A> extends BinaryTree<A> {
+    datastructure.immutable.tree.BinaryTree<A> tree;
+
+    Shared(datastructure.immutable.tree.BinaryTree<A> tree) {
+        this.tree = tree;
+    }
+
+    @Override
+    public Integer size() {
+        return tree.size();
+    }
+
+    @Override
+    public Integer depth() {
+        return tree.depth();
+    }
+
+    @Override
+    public void flip() {
+        tree = tree.flip();
+    }
+
+    @Override
+    public datastructure.immutable.tree.BinaryTree<A> freeze() {
+        return tree;
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        return that instanceof Shared && tree.equals(((Shared<?>) that).tree);
+    }
+
+    @Override
+    public int hashCode() {
+        return tree.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+}
+
+
+/*
+    Fork-join tasks behind the parallel operations of BinaryTree
+    Nodes of the top splitDepth levels fork a task for their left subtree and go on with the right one,
+    the subtrees below are handled by the sequential iterative operations
+ */
+class SizeTask<A> extends RecursiveTask<Integer> {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryTree<A> tree;
+    private final int level;
+    private final int splitDepth;
+
+    SizeTask(BinaryTree<A> tree, int level, int splitDepth) {
+        this.tree = tree;
+        this.level = level;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected Integer compute() {
+        if(!(tree instanceof Branch) || level >= splitDepth) return tree.size();
+
+        Branch<A> current = (Branch<A>) tree;
+        SizeTask<A> left = new SizeTask<>(current.left, level + 1, splitDepth);
+        left.fork();
+        int right = new SizeTask<>(current.right, level + 1, splitDepth).compute();
+
+        return 1 + left.join() + right;
+    }
+}
+
+class DepthTask<A> extends RecursiveTask<Integer> {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryTree<A> tree;
+    private final int level;
+    private final int splitDepth;
+
+    DepthTask(BinaryTree<A> tree, int level, int splitDepth) {
+        this.tree = tree;
+        this.level = level;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected Integer compute() {
+        if(!(tree instanceof Branch) || level >= splitDepth) return tree.depth();
+
+        Branch<A> current = (Branch<A>) tree;
+        DepthTask<A> left = new DepthTask<>(current.left, level + 1, splitDepth);
+        left.fork();
+        int right = new DepthTask<>(current.right, level + 1, splitDepth).compute();
+
+        return 1 + Math.max(left.join(), right);
+    }
+}
+
+class FlipTask<A> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryTree<A> tree;
+    private final int level;
+    private final int splitDepth;
+
+    FlipTask(BinaryTree<A> tree, int level, int splitDepth) {
+        this.tree = tree;
+        this.level = level;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected void compute() {
+        if(!(tree instanceof Branch) || level >= splitDepth) {
+            tree.flip();
+            return;
+        }
+
+        Branch<A> current = (Branch<A>) tree;
+        BinaryTree<A> left = current.left;
+
+        current.setLeft(current.right);
+        current.setRight(left);
+
+        invokeAll(new FlipTask<>(current.left, level + 1, splitDepth), new FlipTask<>(current.right, level + 1, splitDepth));
+    }
+}
+
+/*
+    Compares two trees (mirrored or not) in parallel
+    The first task that finds a difference raises the shared mismatch flag: tasks that have not started are cancelled,
+    running ones stop at their next check of the flag
+ */
+class CompareTask<A> extends RecursiveTask<Boolean> {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryTree<A> thisTree;
+    private final BinaryTree<A> thatTree;
+    private final boolean mirrored;
+    private final AtomicBoolean mismatch;
+    private final int level;
+    private final int splitDepth;
+
+    CompareTask(BinaryTree<A> thisTree, BinaryTree<A> thatTree, boolean mirrored, AtomicBoolean mismatch, int level, int splitDepth) {
+        this.thisTree = thisTree;
+        this.thatTree = thatTree;
+        this.mirrored = mirrored;
+        this.mismatch = mismatch;
+        this.level = level;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected Boolean compute() {
+        if(mismatch.get()) return false;
+
+        if(!(thisTree instanceof Branch) || !(thatTree instanceof Branch) || level >= splitDepth) {
+            return found(BinaryTree.equal(thisTree, thatTree, mirrored, mismatch));
+        }
+
+        Branch<A> thisBranch = (Branch<A>) thisTree;
+        Branch<A> thatBranch = (Branch<A>) thatTree;
+
+        if(!thisBranch.data.equals(thatBranch.data)) return found(false);
+
+        CompareTask<A> left = new CompareTask<>(thisBranch.left, mirrored ? thatBranch.right : thatBranch.left,
+                mirrored, mismatch, level + 1, splitDepth);
+        left.fork();
+
+        boolean right = new CompareTask<>(thisBranch.right, mirrored ? thatBranch.left : thatBranch.right,
+                mirrored, mismatch, level + 1, splitDepth).compute();
+
+        if(!right) {
+            left.cancel(false);
+            return false;
+        }
+
+        return left.join();
+    }
+
+    private boolean found(boolean same) {
+        if(!same) mismatch.set(true);
+        return same;
+    }
+}
+
 
 /*
     Binary Tree functionality
  */
-interface IBinaryTree<A> {
+interface IBinaryTree<A> extends Iterable<A> {
     Integer size();
     Integer depth();
     Boolean compare(BinaryTree<A> that);
     void flip();
     boolean flipEqual(BinaryTree<A> that);
+    Integer size(Parallelism parallelism);
+    Integer depth(Parallelism parallelism);
+    Boolean compare(BinaryTree<A> that, Parallelism parallelism);
+    void flip(Parallelism parallelism);
+    boolean flipEqual(BinaryTree<A> that, Parallelism parallelism);
+    void preOrderTraversal(Consumer<A> consumer);
+    void inOrderTraversal(Consumer<A> consumer);
+    void postOrderTraversal(Consumer<A> consumer);
+    void levelOrderTraversal(Consumer<A> consumer);
+    Iterator<A> preOrderIterator();
+    Iterator<A> postOrderIterator();
+    Iterator<A> levelOrderIterator();
+    datastructure.immutable.tree.BinaryTree<A> freeze();
 }
 
 /*
     Binary tree implementation
+    None of the operations recurse, so deep trees do not overflow the call stack:
+    pre and in order traversals use Morris threading, the others an explicit stack or queue
+    size, depth, compare, flip and flipEqual also have parallel versions running on a fork-join pool
+    freeze and thaw move between mutable and immutable trees without copying the shared nodes
  */
 public class BinaryTree<A> implements IBinaryTree<A> {
 
@@ -54,19 +274,21 @@ public class BinaryTree<A> implements IBinaryTree<A> {
 
     /*
         Initializes Binary tree
+        The first item is the root, the next half of the items make the left subtree and the rest the right subtree
+        Subtrees are built from index ranges of the same array, O(n)
      */
     public static <B> BinaryTree<B> of(B... items) {
-        if(items.length == 0) {
+        return of(items, 0, items.length);
+    }
+
+    private static <B> BinaryTree<B> of(B[] items, int from, int to) {
+        if(from == to) {
             return leaf;
         }
 
-        int[] half = {items.length / 2, items.length / 2};
-
-        B head = items[0];
-        B[] leftItems = (B[])Arrays.stream(items).skip(1).takeWhile(elem -> half[0]-- > 0).toArray();
-        B[] rightItems =  (B[])Arrays.stream(items).skip(1).dropWhile(elem -> half[1]-- > 0).toArray();
+        int middle = from + 1 + (to - from) / 2;
 
-        return new Branch<>(head, of(leftItems), of(rightItems));
+        return new Branch<>(items[from], of(items, from + 1, middle), of(items, middle, to));
     }
 
     protected BinaryTree() {}
@@ -74,26 +296,69 @@ public class BinaryTree<A> implements IBinaryTree<A> {
     /*
       Return the size of the tree
       Size of the tree is the number of nodes in the tree (Leaf nodes excluded)
+      Counts the nodes with an explicit stack: no link is written, so several threads can ask for it at once
+      Shared subtrees give their size in O(1)
     */
     @Override
     public Integer size() {
-        if(this.isLeaf()) return 0;
+        ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+        int size = 0;
 
-        Branch<A> current = (Branch) this;
+        if(this.isNotLeaf()) stack.push((Branch<A>) this);
 
-        return 1 + current.left.size() + current.right.size();
+        while(!stack.isEmpty()) {
+            Branch<A> current = stack.pop();
+            size += 1 + pushOwned(current.left, stack) + pushOwned(current.right, stack);
+        }
+
+        return size;
+    }
+
+    /*
+        Pushes an owned node on the stack and returns 0, or returns the size of a shared subtree
+    */
+    private static <B> int pushOwned(BinaryTree<B> child, ArrayDeque<Branch<B>> stack) {
+        if(child instanceof Shared) return child.size();
+
+        if(child.isNotLeaf()) stack.push((Branch<B>) child);
+
+        return 0;
     }
 
     /*
         Depth is the length of the longest path from root to leaf
+        Counts the levels of a level order walk, shared subtrees give their depth in O(1)
    */
     @Override
     public Integer depth() {
-        if(this.isLeaf()) return 0;
+        ArrayDeque<Branch<A>> level = new ArrayDeque<>();
+        int depth = 0;
+        int deepest = 0;
+
+        if(this.isNotLeaf()) level.add((Branch<A>) this);
+
+        while(!level.isEmpty()) {
+            depth++;
+
+            for(int remaining = level.size(); remaining > 0; remaining--) {
+                Branch<A> current = level.poll();
+                deepest = Math.max(deepest, addOwned(current.left, level, depth));
+                deepest = Math.max(deepest, addOwned(current.right, level, depth));
+            }
+        }
+
+        return Math.max(depth, deepest);
+    }
+
+    /*
+        Queues an owned node for the next level and returns 0, or returns the depth reached through a shared subtree
+    */
+    private static <B> int addOwned(BinaryTree<B> child, ArrayDeque<Branch<B>> level, int depth) {
+        if(child instanceof Shared) return depth + child.depth();
 
-        Branch<A> current = (Branch) this;
+        if(child.isNotLeaf()) level.add((Branch<B>) child);
 
-        return 1 + Math.max(current.left.depth(), current.right.depth());
+        return 0;
     }
 
     /*
@@ -102,76 +367,518 @@ public class BinaryTree<A> implements IBinaryTree<A> {
    */
     @Override
     public Boolean compare(BinaryTree<A> that) {
+        return equal(this, that, false);
+    }
 
-        if(this.isLeaf() && that.isLeaf()) {
+    /*
+        Flip the tree left and right nodes
+        Shared subtrees are flipped in O(1), their nodes are not written
+    */
+    @Override
+    public void flip() {
+        ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+
+        if(this.isNotLeaf()) stack.push((Branch<A>) this);
 
-            return true;
+        while(!stack.isEmpty()) {
+            Branch<A> cursor = stack.pop();
+            BinaryTree<A> left = cursor.left;
 
-        } else if (this.isNotLeaf() && that.isNotLeaf()) {
+            cursor.setLeft(cursor.right);
+            cursor.setRight(left);
 
-            Branch<A> thisTree = ((Branch<A>)this);
-            Branch<A> thatTree = ((Branch<A>)that);
+            flipShared(cursor.left, stack);
+            flipShared(cursor.right, stack);
+        }
+    }
 
-            if(thisTree.data.equals(thatTree.data)) {
+    /*
+        Flips a shared subtree in O(1), or pushes an owned node to be flipped later
+    */
+    private static <B> void flipShared(BinaryTree<B> child, ArrayDeque<Branch<B>> stack) {
+        if(child instanceof Shared) child.flip();
+        else if(child.isNotLeaf()) stack.push((Branch<B>) child);
+    }
 
-                return thisTree.left.compare(thatTree.left) &&
-                        thisTree.right.compare(thatTree.right);
-            }else{
+    /*
+        Checks if "that" tree is the flip of the current tree (this)
+    */
+    @Override
+    public boolean flipEqual(BinaryTree<A> that) {
+        return equal(this, that, true);
+    }
+
+    /*
+        Compares two trees pair of nodes by pair of nodes, when mirrored is true the left subtree of one tree
+        is compared with the right subtree of the other one
+    */
+    private static <B> boolean equal(BinaryTree<B> thisTree, BinaryTree<B> thatTree, boolean mirrored) {
+        return equal(thisTree, thatTree, mirrored, null);
+    }
+
+    /*
+        Same as equal, but gives up (returns false) once another task raised the mismatch flag
+        The flag is read every 1024 pairs of nodes
+        Two shared subtrees are compared by the immutable tree, with its cached sizes and hashes
+    */
+    static <B> boolean equal(BinaryTree<B> thisTree, BinaryTree<B> thatTree, boolean mirrored, AtomicBoolean mismatch) {
+        ArrayDeque<Object> stack = new ArrayDeque<>();
+        stack.push(entry(thisTree));
+        stack.push(entry(thatTree));
+        int visited = 0;
+
+        while(!stack.isEmpty()) {
+            if(mismatch != null && (++visited & 1023) == 0 && mismatch.get()) return false;
+
+            Object thatNode = stack.pop();
+            Object thisNode = stack.pop();
+
+            if(isEmpty(thisNode) && isEmpty(thatNode)) continue;
+
+            if(isEmpty(thisNode) || isEmpty(thatNode)) return false;
+
+            if(thisNode instanceof datastructure.immutable.tree.BinaryTree && thatNode instanceof datastructure.immutable.tree.BinaryTree) {
+                datastructure.immutable.tree.BinaryTree<B> thisShared = (datastructure.immutable.tree.BinaryTree<B>) thisNode;
+                datastructure.immutable.tree.BinaryTree<B> thatShared = (datastructure.immutable.tree.BinaryTree<B>) thatNode;
+
+                if(mirrored ? thisShared.flipEqual(thatShared) : thisShared.compare(thatShared)) continue;
 
                 return false;
             }
 
-        } else {
+            if(!valueOf(thisNode).equals(valueOf(thatNode))) return false;
 
-            return false;
+            stack.push(leftOf(thisNode));
+            stack.push(mirrored ? rightOf(thatNode) : leftOf(thatNode));
+            stack.push(rightOf(thisNode));
+            stack.push(mirrored ? leftOf(thatNode) : rightOf(thatNode));
         }
+
+        return true;
     }
 
     /*
-        Flip the tree left and right nodes
+        Counts the nodes in parallel
     */
     @Override
-    public void flip() {
+    public Integer size(Parallelism parallelism) {
+        return parallelism.invoke(new SizeTask<>(this, 0, parallelism.splitDepth()));
+    }
 
-        if(this.isLeaf()) return;
+    /*
+        Depth computed in parallel
+    */
+    @Override
+    public Integer depth(Parallelism parallelism) {
+        return parallelism.invoke(new DepthTask<>(this, 0, parallelism.splitDepth()));
+    }
 
-        Branch<A> cursor = (Branch<A>) this;
-        BinaryTree<A> left = cursor.left;
+    /*
+        Compares two trees in parallel, stops all the tasks as soon as one finds a difference
+    */
+    @Override
+    public Boolean compare(BinaryTree<A> that, Parallelism parallelism) {
+        return parallelism.invoke(new CompareTask<>(this, that, false, new AtomicBoolean(), 0, parallelism.splitDepth()));
+    }
 
-        cursor.setLeft(cursor.right);
-        cursor.setRight(left);
+    /*
+        Flips the tree in parallel
+    */
+    @Override
+    public void flip(Parallelism parallelism) {
+        parallelism.invoke(new FlipTask<>(this, 0, parallelism.splitDepth()));
+    }
 
-        cursor.left.flip();
-        cursor.right.flip();
+    /*
+        Checks in parallel if "that" tree is the flip of this tree, stops as soon as one task finds a difference
+    */
+    @Override
+    public boolean flipEqual(BinaryTree<A> that, Parallelism parallelism) {
+        return parallelism.invoke(new CompareTask<>(this, that, true, new AtomicBoolean(), 0, parallelism.splitDepth()));
     }
 
     /*
-        Checks if "that" tree is the flip of the current tree (this)
+        Visits node -> left -> right
+        Morris traversal: the rightmost node of each left subtree is temporarily linked back to its ancestor,
+        so the walk needs no stack; all links are restored when it ends, even if the consumer throws
+        The tree must not be used by another thread during the traversal
     */
     @Override
-    public boolean flipEqual(BinaryTree<A> that) {
-        if(this.isLeaf() && that.isLeaf()) {
+    public void preOrderTraversal(Consumer<A> consumer) {
+        morris(consumer, true);
+    }
 
-            return true;
+    /*
+        Visits left -> node -> right
+        Morris traversal, as preOrderTraversal
+    */
+    @Override
+    public void inOrderTraversal(Consumer<A> consumer) {
+        morris(consumer, false);
+    }
 
-        } else if (this.isNotLeaf() && that.isNotLeaf()) {
+    /*
+        Visits left -> right -> node, with an explicit stack
+    */
+    @Override
+    public void postOrderTraversal(Consumer<A> consumer) {
+        postOrderIterator().forEachRemaining(consumer);
+    }
 
-            Branch<A> thisTree = ((Branch<A>)this);
-            Branch<A> thatTree = ((Branch<A>)that);
+    /*
+        Visits the nodes level by level, from left to right
+    */
+    @Override
+    public void levelOrderTraversal(Consumer<A> consumer) {
+        levelOrderIterator().forEachRemaining(consumer);
+    }
 
-            if(thisTree.data.equals(thatTree.data)) {
+    /*
+        In order iterator, the path still to visit is kept on an explicit stack
+        (iterators do not use Morris threading, they may be abandoned before the end)
+        A shared subtree met on the way is walked by the iterator of the immutable tree
+    */
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+            Iterator<A> shared;
 
-                return thisTree.left.flipEqual(thatTree.right) &&
-                        thisTree.right.flipEqual(thatTree.left);
-            }else{
+            {
+                pushLeftPath(BinaryTree.this);
+            }
 
-                return false;
+            @Override
+            public boolean hasNext() {
+                return shared != null || !stack.isEmpty();
             }
 
-        } else {
+            @Override
+            public A next() {
+                if(shared != null) {
+                    A value = shared.next();
+                    if(!shared.hasNext()) shared = null;
+                    return value;
+                }
 
-            return false;
+                if(stack.isEmpty()) throw new NoSuchElementException();
+
+                Branch<A> current = stack.pop();
+                pushLeftPath(current.right);
+                return current.data;
+            }
+
+            /*
+                A shared subtree ends the path, its nodes come before the nodes on the stack
+            */
+            private void pushLeftPath(BinaryTree<A> tree) {
+                while(tree instanceof Branch) {
+                    Branch<A> current = (Branch<A>) tree;
+                    stack.push(current);
+                    tree = current.left;
+                }
+
+                if(tree instanceof Shared) shared = ((Shared<A>) tree).tree.iterator();
+            }
+        };
+    }
+
+    /*
+        Pre order iterator with an explicit stack
+        A shared subtree popped from the stack is walked by the iterator of the immutable tree
+    */
+    @Override
+    public Iterator<A> preOrderIterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<BinaryTree<A>> stack = new ArrayDeque<>();
+            Iterator<A> shared;
+
+            {
+                if(BinaryTree.this.isNotLeaf()) stack.push(BinaryTree.this);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return shared != null || !stack.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                if(shared == null) {
+                    if(stack.isEmpty()) throw new NoSuchElementException();
+
+                    BinaryTree<A> tree = stack.pop();
+
+                    if(tree instanceof Branch) {
+                        Branch<A> current = (Branch<A>) tree;
+                        if(current.right.isNotLeaf()) stack.push(current.right);
+                        if(current.left.isNotLeaf()) stack.push(current.left);
+                        return current.data;
+                    }
+
+                    shared = ((Shared<A>) tree).tree.preOrderIterator();
+                }
+
+                A value = shared.next();
+                if(!shared.hasNext()) shared = null;
+                return value;
+            }
+        };
+    }
+
+    /*
+        Post order iterator with an explicit stack
+        A node is returned once the walk comes back to it from its right subtree
+        A shared subtree is walked by the iterator of the immutable tree, then the walk comes back to its parent
+    */
+    @Override
+    public Iterator<A> postOrderIterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Branch<A>> stack = new ArrayDeque<>();
+            Iterator<A> shared;
+            BinaryTree<A> sharedTree;
+
+            {
+                pushPath(BinaryTree.this);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return shared != null || !stack.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                if(shared != null) {
+                    A value = shared.next();
+
+                    if(!shared.hasNext()) {
+                        BinaryTree<A> done = sharedTree;
+                        shared = null;
+                        sharedTree = null;
+                        climb(done);
+                    }
+
+                    return value;
+                }
+
+                if(stack.isEmpty()) throw new NoSuchElementException();
+
+                Branch<A> current = stack.pop();
+                climb(current);
+                return current.data;
+            }
+
+            /*
+                Once the left subtree of the node on top of the stack is done, goes down its right subtree
+            */
+            private void climb(BinaryTree<A> done) {
+                if(!stack.isEmpty() && stack.peek().left == done) pushPath(stack.peek().right);
+            }
+
+            /*
+                Goes down to the first node in post order, preferring left children
+            */
+            private void pushPath(BinaryTree<A> tree) {
+                while(tree instanceof Branch) {
+                    Branch<A> current = (Branch<A>) tree;
+                    stack.push(current);
+                    tree = current.left.isNotLeaf() ? current.left : current.right;
+                }
+
+                if(tree instanceof Shared) {
+                    shared = ((Shared<A>) tree).tree.postOrderIterator();
+                    sharedTree = tree;
+                }
+            }
+        };
+    }
+
+    /*
+        Level order iterator with a queue
+        The nodes of shared subtrees are queued as immutable trees and read through their accessors
+    */
+    @Override
+    public Iterator<A> levelOrderIterator() {
+        return new Iterator<A>() {
+            final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+            {
+                add(entry(BinaryTree.this));
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                if(queue.isEmpty()) throw new NoSuchElementException();
+
+                Object current = queue.poll();
+                add(leftOf(current));
+                add(rightOf(current));
+                return (A) valueOf(current);
+            }
+
+            private void add(Object node) {
+                if(!isEmpty(node)) queue.add(node);
+            }
+        };
+    }
+
+    /*
+        Morris traversal in pre order (preOrder is true) or in order
+        A node with a left subtree is reached twice: the first time its predecessor (rightmost node of the left subtree)
+        is linked to it and the walk goes left, the second time the link is removed and the walk goes right
+        If the consumer throws, the walk goes on without it to remove the remaining links, then rethrows
+        Shared nodes can not be linked: a left subtree whose predecessor is shared is walked with a stack iterator,
+        and so is a shared subtree met by the walk (it ends the walk: a node waiting for the end of it
+        would have its predecessor in it, so its left subtree is walked by an iterator)
+    */
+    private void morris(Consumer<A> consumer, boolean preOrder) {
+        BinaryTree<A> cursor = this;
+        Throwable failure = null;
+
+        while(cursor.isNotLeaf()) {
+            if(cursor instanceof Shared) {
+                failure = visitAll(consumer, preOrder ? cursor.preOrderIterator() : cursor.iterator(), failure);
+                break;
+            }
+
+            Branch<A> current = (Branch<A>) cursor;
+
+            if(current.left.isLeaf()) {
+                failure = visit(consumer, current.data, failure);
+                cursor = current.right;
+                continue;
+            }
+
+            BinaryTree<A> rightmost = current.left;
+            while(rightmost instanceof Branch && ((Branch<A>) rightmost).right.isNotLeaf() && ((Branch<A>) rightmost).right != current) {
+                rightmost = ((Branch<A>) rightmost).right;
+            }
+
+            if(rightmost instanceof Shared) {
+                if(preOrder) failure = visit(consumer, current.data, failure);
+                failure = visitAll(consumer, preOrder ? current.left.preOrderIterator() : current.left.iterator(), failure);
+                if(!preOrder) failure = visit(consumer, current.data, failure);
+                cursor = current.right;
+                continue;
+            }
+
+            Branch<A> predecessor = (Branch<A>) rightmost;
+
+            if(predecessor.right != current) {
+                if(preOrder) failure = visit(consumer, current.data, failure);
+                predecessor.setRight(current);
+                cursor = current.left;
+            } else {
+                predecessor.setRight(leaf);
+                if(!preOrder) failure = visit(consumer, current.data, failure);
+                cursor = current.right;
+            }
+        }
+
+        if(failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if(failure instanceof Error) throw (Error) failure;
+    }
+
+    private static <B> Throwable visitAll(Consumer<B> consumer, Iterator<B> values, Throwable failure) {
+        while(failure == null && values.hasNext()) failure = visit(consumer, values.next(), failure);
+        return failure;
+    }
+
+    private static <B> Throwable visit(Consumer<B> consumer, B value, Throwable failure) {
+        if(failure != null) return failure;
+
+        try {
+            consumer.accept(value);
+            return null;
+        } catch(RuntimeException | Error e) {
+            return e;
+        }
+    }
+
+    /*
+        Immutable snapshot of the tree, O(number of nodes owned by this tree)
+        The owned nodes are copied once into immutable nodes, then this tree keeps its root
+        and reads the rest through shared subtrees: freezing it again (even after a flip) is O(1),
+        and later changes never reach the snapshot
+    */
+    @Override
+    public datastructure.immutable.tree.BinaryTree<A> freeze() {
+        if(this.isLeaf()) return datastructure.immutable.tree.BinaryTree.empty();
+
+        // owned nodes in reverse post order: popping them freezes the children of a node before the node
+        ArrayDeque<Branch<A>> pending = new ArrayDeque<>();
+        ArrayDeque<Branch<A>> order = new ArrayDeque<>();
+        pending.push((Branch<A>) this);
+
+        while(!pending.isEmpty()) {
+            Branch<A> current = pending.pop();
+            order.push(current);
+            if(current.left instanceof Branch) pending.push((Branch<A>) current.left);
+            if(current.right instanceof Branch) pending.push((Branch<A>) current.right);
         }
+
+        ArrayDeque<datastructure.immutable.tree.BinaryTree<A>> frozen = new ArrayDeque<>();
+
+        while(!order.isEmpty()) {
+            Branch<A> current = order.pop();
+            datastructure.immutable.tree.BinaryTree<A> right = frozen(current.right, frozen);
+            datastructure.immutable.tree.BinaryTree<A> left = frozen(current.left, frozen);
+            frozen.push(datastructure.immutable.tree.BinaryTree.branch(current.data, left, right));
+        }
+
+        datastructure.immutable.tree.BinaryTree<A> snapshot = frozen.pop();
+        Branch<A> root = (Branch<A>) this;
+        root.setLeft(thaw(snapshot.left()));
+        root.setRight(thaw(snapshot.right()));
+
+        return snapshot;
+    }
+
+    /*
+        Frozen child: popped from the frozen nodes for an owned node, shared or empty otherwise
+    */
+    private static <B> datastructure.immutable.tree.BinaryTree<B> frozen(BinaryTree<B> child, ArrayDeque<datastructure.immutable.tree.BinaryTree<B>> frozen) {
+        return child instanceof Branch ? frozen.pop() : child.freeze();
+    }
+
+    /*
+        Mutable tree over the nodes of an immutable tree, O(1)
+        Nothing is copied: the nodes stay shared, flip replaces shared subtrees by their O(1) flipped views
+        and the traversals walk them with the iterators of the immutable tree instead of linking them
+    */
+    public static <B> BinaryTree<B> thaw(datastructure.immutable.tree.BinaryTree<B> tree) {
+        return tree.isEmpty() ? leaf : new Shared<>(tree);
+    }
+
+    /*
+        Nodes of the walks that read shared subtrees node by node (level order, compare of an owned node with a shared one):
+        an owned Branch or Leaf, or the immutable tree of a shared subtree
+        The nodes of the immutable trees are read through their accessors, only a flipped view builds one view per child read
+    */
+    private static Object entry(BinaryTree<?> tree) {
+        return tree instanceof Shared ? ((Shared<?>) tree).tree : tree;
+    }
+
+    private static boolean isEmpty(Object node) {
+        return node instanceof Leaf || node instanceof datastructure.immutable.tree.BinaryTree && ((datastructure.immutable.tree.BinaryTree<?>) node).isEmpty();
+    }
+
+    private static Object valueOf(Object node) {
+        return node instanceof Branch ? ((Branch<?>) node).data : ((datastructure.immutable.tree.BinaryTree<?>) node).value();
+    }
+
+    private static Object leftOf(Object node) {
+        return node instanceof Branch ? entry(((Branch<?>) node).left) : ((datastructure.immutable.tree.BinaryTree<?>) node).left();
+    }
+
+    private static Object rightOf(Object node) {
+        return node instanceof Branch ? entry(((Branch<?>) node).right) : ((datastructure.immutable.tree.BinaryTree<?>) node).right();
     }
 
     private Boolean isLeaf() {
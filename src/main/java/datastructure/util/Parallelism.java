@@ -0,0 +1,57 @@
+package datastructure.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+
+/*
+    Settings of the parallel tree operations: the fork-join pool that runs them and the split depth
+    The top splitDepth levels of a tree are split into fork-join tasks, the subtrees below them are walked sequentially
+    A split depth of 0 runs the whole operation as one sequential task
+ */
+public final class Parallelism {
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    private Parallelism(ForkJoinPool pool, int splitDepth) {
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    /*
+        Common pool, with a split depth giving about four tasks per worker on a balanced tree
+     */
+    public static Parallelism common() {
+        return of(ForkJoinPool.commonPool());
+    }
+
+    /*
+        Given pool, with a split depth giving about four tasks per worker on a balanced tree
+     */
+    public static Parallelism of(ForkJoinPool pool) {
+        int levels = 32 - Integer.numberOfLeadingZeros(pool.getParallelism() - 1);
+        return of(pool, levels + 2);
+    }
+
+    public static Parallelism of(ForkJoinPool pool, int splitDepth) {
+        if(splitDepth < 0) throw new IllegalArgumentException("Split depth must not be negative");
+
+        return new Parallelism(pool, splitDepth);
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public int splitDepth() {
+        return splitDepth;
+    }
+
+    /*
+        Runs the task in the pool and waits for its result
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        return pool.invoke(task);
+    }
+}
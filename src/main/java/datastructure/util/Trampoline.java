@@ -0,0 +1,105 @@
+package datastructure.util;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+
+/*
+    Result of the computation
+ */
+class Done<A> extends Trampoline<A> {
+    final A value;
+
+    Done(A value) {
+        this.value = value;
+    }
+}
+
+/*
+    Next step of the computation, evaluated by run() instead of the JVM stack
+ */
+class More<A> extends Trampoline<A> {
+    final Supplier<Trampoline<A>> next;
+
+    More(Supplier<Trampoline<A>> next) {
+        this.next = next;
+    }
+}
+
+/*
+    Computation followed by a continuation that needs its result
+ */
+class FlatMap<A, B> extends Trampoline<B> {
+    final Trampoline<A> source;
+    final Function<? super A, Trampoline<B>> continuation;
+
+    FlatMap(Trampoline<A> source, Function<? super A, Trampoline<B>> continuation) {
+        this.source = source;
+        this.continuation = continuation;
+    }
+}
+
+
+/*
+    Trampoline for writing recursive functions that run in constant stack depth
+
+    A recursive call is wrapped in more(...) and the work to do with its result in flatMap/map,
+    so each call returns a description of the next step instead of calling itself
+    run() evaluates the steps in a loop and keeps pending continuations on a heap allocated stack,
+    which makes non tail recursive functions (e.g. size of a tree) stack safe as well
+ */
+public abstract class Trampoline<A> {
+
+    Trampoline() {}
+
+    public static <A> Trampoline<A> done(A value) {
+        return new Done<>(value);
+    }
+
+    public static <A> Trampoline<A> more(Supplier<Trampoline<A>> next) {
+        return new More<>(next);
+    }
+
+    /*
+        Continues with f once this computation is done
+     */
+    public <B> Trampoline<B> flatMap(Function<? super A, Trampoline<B>> f) {
+        return new FlatMap<>(this, f);
+    }
+
+    /*
+        Transforms the result of this computation
+     */
+    public <B> Trampoline<B> map(Function<? super A, B> f) {
+        return flatMap(value -> done(f.apply(value)));
+    }
+
+    /*
+        Evaluates the computation in a loop
+     */
+    public A run() {
+        ArrayDeque<Function<Object, Trampoline<Object>>> continuations = new ArrayDeque<>();
+        Trampoline<Object> current = (Trampoline<Object>) this;
+
+        while(true) {
+            if(current instanceof Done) {
+                Object value = ((Done<Object>) current).value;
+
+                if(continuations.isEmpty()) return (A) value;
+
+                current = continuations.pop().apply(value);
+
+            } else if(current instanceof More) {
+
+                current = ((More<Object>) current).next.get();
+
+            } else {
+                FlatMap<Object, Object> flatMap = (FlatMap<Object, Object>) current;
+
+                continuations.push(flatMap.continuation);
+                current = flatMap.source;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package datastructure.immutable.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntLinkedListTest {
+
+    @Test
+    void emptyListThrows() {
+        IntLinkedList list = IntLinkedList.of();
+
+        assertTrue(list.isEmpty());
+        assertThrows(NoSuchElementException.class, list::head);
+        assertThrows(NoSuchElementException.class, list::tail);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.delete(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntLinkedList.of(1, 2).delete(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntLinkedList.of(1, 2).get(-1));
+    }
+
+    @Test
+    void deleteSharesTheElementsAfterIndex() {
+        IntLinkedList list = IntLinkedList.of(1, 2, 3, 4, 5);
+
+        assertEquals(List.of(1, 2, 4, 5), toList(list.delete(2)));
+        assertTrue(list.delete(2).drop(2) == list.drop(3));
+        assertEquals(List.of(1, 2, 3, 4, 5), toList(list));
+    }
+
+    /*
+        Random operations checked against java.util.ArrayList
+        Older versions are kept and checked again at the end, they must not see the later operations
+     */
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(43);
+        IntLinkedList list = IntLinkedList.of();
+        List<Integer> expected = new ArrayList<>();
+        List<IntLinkedList> versions = new ArrayList<>();
+        List<List<Integer>> contents = new ArrayList<>();
+
+        for(int step = 0; step < 3_000; step++) {
+            int operation = random.nextInt(expected.isEmpty() ? 4 : 8);
+
+            switch(operation) {
+                case 0: list = list.prepend(step); expected.add(0, step); break;
+                case 1: list = list.append(step); expected.add(step); break;
+                case 2: {
+                    IntLinkedList items = IntLinkedList.of(step, -step, step + 1);
+                    list = list.prependAll(items);
+                    expected.addAll(0, List.of(step, -step, step + 1));
+                    break;
+                }
+                case 3: {
+                    IntLinkedList items = IntLinkedList.of(step, -step, step + 1);
+                    list = list.appendAll(items);
+                    expected.addAll(List.of(step, -step, step + 1));
+                    break;
+                }
+                case 4: {
+                    int index = random.nextInt(expected.size());
+                    list = list.delete(index);
+                    expected.remove(index);
+                    break;
+                }
+                case 5: {
+                    int count = random.nextInt(Math.min(expected.size(), 5) + 1);
+                    list = list.drop(count);
+                    expected = new ArrayList<>(expected.subList(count, expected.size()));
+                    break;
+                }
+                case 6: list = list.tail(); expected.remove(0); break;
+                default: {
+                    int index = random.nextInt(expected.size());
+                    assertEquals((int) expected.get(index), list.get(index).getAsInt());
+                    break;
+                }
+            }
+
+            assertEquals(expected, toList(list));
+
+            if(step % 100 == 0) {
+                versions.add(list);
+                contents.add(new ArrayList<>(expected));
+            }
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            assertEquals(contents.get(i), toList(versions.get(i)));
+            assertEquals(contents.get(i), versions.get(i).stream().boxed().collect(Collectors.toList()));
+        }
+    }
+
+    private static List<Integer> toList(IntLinkedList list) {
+        List<Integer> values = new ArrayList<>();
+        list.traverse(values::add);
+        return values;
+    }
+}
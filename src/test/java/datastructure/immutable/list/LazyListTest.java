@@ -0,0 +1,99 @@
+package datastructure.immutable.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyListTest {
+
+    @Test
+    void derivedListsShareTheElementsOfTheirSource() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyList<Integer> mapped = LazyList.of(1, 2, 3, 4).map(value -> {
+            calls.incrementAndGet();
+            return value * 10;
+        });
+        LazyList<Integer> twice = mapped.map(value -> value + 1);
+        LazyList<Integer> filtered = mapped.filter(value -> value > 15);
+
+        assertEquals(List.of(11, 21, 31, 41), toList(twice));
+        assertEquals(List.of(20, 30, 40), toList(filtered));
+        assertEquals(List.of(10, 20, 30, 40), toList(mapped));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void takeDoesNotReadPastItsLastElement() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyList<Integer> taken = LazyList.generate(calls::incrementAndGet).take(5);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), toList(taken));
+        assertEquals(5, calls.get());
+        assertTrue(LazyList.generate(calls::incrementAndGet).take(0).isEmpty());
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void takeIsMemoized() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyList<Integer> taken = LazyList.iterate(0, value -> value + 1).map(value -> {
+            calls.incrementAndGet();
+            return value;
+        }).take(3);
+
+        assertEquals(3, taken.size());
+        assertEquals(List.of(0, 1, 2), toList(taken));
+        assertEquals(List.of(1, 2), toList(taken.tail().take(5)));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void longFilteredRunsOverInfiniteSource() {
+        LazyList<Integer> sparse = LazyList.iterate(0, value -> value + 1).filter(value -> value % 1_000_000 == 0).take(3);
+
+        assertEquals(List.of(0, 1_000_000, 2_000_000), toList(sparse));
+    }
+
+    /*
+        Random pipelines of map, filter, take, takeWhile and drop, checked against java.util.stream
+     */
+    @Test
+    void matchesStreams() {
+        Random random = new Random(7);
+
+        for(int round = 0; round < 500; round++) {
+            int size = random.nextInt(50);
+            LazyList<Integer> list = LazyList.from(LinkedList.fromStream(IntStream.range(0, size).boxed()));
+            Stream<Integer> expected = IntStream.range(0, size).boxed();
+
+            for(int step = random.nextInt(6); step > 0; step--) {
+                int argument = random.nextInt(10) + 1;
+
+                switch(random.nextInt(5)) {
+                    case 0: list = list.map(value -> value * 3 + argument); expected = expected.map(value -> value * 3 + argument); break;
+                    case 1: list = list.filter(value -> value % argument != 0); expected = expected.filter(value -> value % argument != 0); break;
+                    case 2: list = list.take(argument * 3); expected = expected.limit(argument * 3); break;
+                    case 3: list = list.takeWhile(value -> value < argument * 20); expected = expected.takeWhile(value -> value < argument * 20); break;
+                    default: list = list.drop(argument); expected = expected.skip(argument); break;
+                }
+            }
+
+            assertEquals(expected.collect(Collectors.toList()), toList(list));
+        }
+    }
+
+    private static <A> List<A> toList(LazyList<A> list) {
+        List<A> values = new ArrayList<>();
+        list.traverse(values::add);
+        return values;
+    }
+}
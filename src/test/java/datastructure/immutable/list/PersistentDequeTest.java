@@ -0,0 +1,132 @@
+package datastructure.immutable.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentDequeTest {
+
+    @Test
+    void appendedElementsLeaveInOrder() {
+        PersistentDeque<Integer> deque = PersistentDeque.<Integer>empty().append(1).append(2).append(3);
+
+        assertEquals(1, deque.head());
+        assertEquals(3, deque.last());
+        assertEquals(2, deque.tail().size());
+        assertEquals(2, deque.tail().head());
+        assertEquals(2, deque.init().last());
+    }
+
+    @Test
+    void prependedElementsLeaveInReverseOrder() {
+        PersistentDeque<Integer> deque = PersistentDeque.<Integer>empty().prepend(1).prepend(2).prepend(3);
+
+        assertEquals(3, deque.head());
+        assertEquals(1, deque.last());
+        assertEquals(List.of(3, 2), toList(deque.init()));
+        assertEquals(List.of(2, 1), toList(deque.tail()));
+    }
+
+    /*
+        Both ends of a deque built from one side only are read in O(1)
+        (reading the far end of a list would take minutes here)
+     */
+    @Test
+    void oneSidedDequesReadBothEndsInConstantTime() {
+        PersistentDeque<Integer> appended = PersistentDeque.empty();
+        PersistentDeque<Integer> prepended = PersistentDeque.empty();
+
+        for(int i = 0; i < 100_000; i++) {
+            appended = appended.append(i);
+            prepended = prepended.prepend(i);
+        }
+
+        PersistentDeque<Integer> appendedOnly = appended;
+        PersistentDeque<Integer> prependedOnly = prepended;
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for(int i = 0; i < 100_000; i++) {
+                assertEquals(0, appendedOnly.head());
+                assertEquals(99_999, appendedOnly.last());
+                assertEquals(99_999, prependedOnly.head());
+                assertEquals(0, prependedOnly.last());
+            }
+        });
+    }
+
+    @Test
+    void emptyDequeThrows() {
+        PersistentDeque<Integer> deque = PersistentDeque.empty();
+
+        assertTrue(deque.isEmpty());
+        assertThrows(NoSuchElementException.class, deque::head);
+        assertThrows(NoSuchElementException.class, deque::last);
+        assertThrows(NoSuchElementException.class, deque::tail);
+        assertThrows(NoSuchElementException.class, deque::init);
+    }
+
+    /*
+        Random operations on both ends, checked against java.util.ArrayDeque after each step
+        Older versions are kept and checked again at the end, they must not see the later operations
+     */
+    @Test
+    void matchesArrayDeque() {
+        Random random = new Random(42);
+        PersistentDeque<Integer> deque = PersistentDeque.empty();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        List<PersistentDeque<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> contents = new ArrayList<>();
+
+        for(int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(expected.isEmpty() ? 3 : 7);
+
+            switch(operation) {
+                case 0: deque = deque.append(step); expected.addLast(step); break;
+                case 1: deque = deque.prepend(step); expected.addFirst(step); break;
+                case 2: {
+                    LinkedList<Integer> items = LinkedList.of(step, step + 1, step + 2);
+                    deque = deque.appendAll(items);
+                    items.traverse(expected::addLast);
+                    break;
+                }
+                case 3: case 4: deque = deque.tail(); expected.removeFirst(); break;
+                default: deque = deque.init(); expected.removeLast(); break;
+            }
+
+            assertEquals(expected.size(), deque.size());
+
+            if(!expected.isEmpty()) {
+                assertEquals(expected.peekFirst(), deque.head());
+                assertEquals(expected.peekLast(), deque.last());
+            }
+
+            if(step % 100 == 0) {
+                assertEquals(new ArrayList<>(expected), toList(deque));
+                versions.add(deque);
+                contents.add(new ArrayList<>(expected));
+            }
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            assertEquals(contents.get(i), toList(versions.get(i)));
+            assertEquals(contents.get(i), versions.get(i).stream().collect(Collectors.toList()));
+        }
+    }
+
+    private static <A> List<A> toList(PersistentDeque<A> deque) {
+        List<A> values = new ArrayList<>();
+        deque.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,149 @@
+package datastructure.immutable.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentVectorTest {
+
+    @Test
+    void buildsLargeVectorsInOrder() {
+        for(int size : new int[]{0, 1, 31, 32, 33, 1024, 1056, 1057, 40_000}) {
+            Integer[] items = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+            List<Integer> expected = IntStream.range(0, size).boxed().collect(Collectors.toList());
+
+            assertEquals(expected, toList(PersistentVector.of(items)));
+            assertEquals(expected, toList(PersistentVector.fromIterable(expected)));
+            assertEquals(expected, PersistentVector.of(items).stream().collect(Collectors.toList()));
+
+            PersistentVector<Integer> appended = PersistentVector.empty();
+            for(int i = 0; i < size; i++) appended = appended.append(i);
+            assertEquals(expected, toList(appended));
+
+            PersistentVector<Integer> prepended = PersistentVector.empty();
+            for(int i = size - 1; i >= 0; i--) prepended = prepended.prepend(i);
+            assertEquals(expected, toList(prepended));
+        }
+    }
+
+    @Test
+    void emptyVectorThrows() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+
+        assertTrue(vector.isEmpty());
+        assertThrows(NoSuchElementException.class, vector::head);
+        assertThrows(NoSuchElementException.class, vector::tail);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentVector.of(1).updated(1, 2));
+    }
+
+    /*
+        Random operations checked against java.util.ArrayList after each step
+        Older versions are kept and checked again at the end, they must not see the later operations
+     */
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(17);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> contents = new ArrayList<>();
+
+        for(int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(expected.isEmpty() ? 4 : 12);
+
+            switch(operation) {
+                case 0: case 1: vector = vector.append(step); expected.add(step); break;
+                case 2: vector = vector.prepend(step); expected.add(0, step); break;
+                case 3: {
+                    PersistentVector<Integer> items = PersistentVector.of(step, step + 1, step + 2);
+                    if(random.nextBoolean()) {
+                        vector = vector.appendAll(items);
+                        expected.addAll(List.of(step, step + 1, step + 2));
+                    } else {
+                        vector = vector.prependAll(items);
+                        expected.addAll(0, List.of(step, step + 1, step + 2));
+                    }
+                    break;
+                }
+                case 4: vector = vector.tail(); expected.remove(0); break;
+                case 5: {
+                    int index = random.nextInt(expected.size());
+                    vector = vector.updated(index, -step);
+                    expected.set(index, -step);
+                    break;
+                }
+                case 6: {
+                    int index = random.nextInt(expected.size());
+                    vector = vector.delete(index);
+                    expected.remove(index);
+                    break;
+                }
+                case 7: {
+                    int count = random.nextInt(expected.size() + 1);
+                    vector = vector.drop(count);
+                    expected = new ArrayList<>(expected.subList(count, expected.size()));
+                    break;
+                }
+                case 8: {
+                    int count = expected.size() - random.nextInt(Math.min(expected.size(), 40) + 1);
+                    vector = vector.take(count);
+                    expected = new ArrayList<>(expected.subList(0, count));
+                    break;
+                }
+                case 9: {
+                    int limit = step / 2;
+                    vector = vector.dropWhile(value -> value < limit);
+                    int count = 0;
+                    while(count < expected.size() && expected.get(count) < limit) count++;
+                    expected = new ArrayList<>(expected.subList(count, expected.size()));
+                    break;
+                }
+                case 10: if(step % 50 == 0) { vector = vector.reverse(); Collections.reverse(expected); } break;
+                default: {
+                    for(int i = 0; i < 10; i++) {
+                        vector = vector.append(step);
+                        expected.add(step);
+                    }
+                    break;
+                }
+            }
+
+            assertEquals(expected.size(), vector.size());
+
+            if(!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), vector.get(index).orElse(null));
+                assertEquals(expected.get(0), vector.head());
+            }
+
+            if(step % 100 == 0) {
+                assertEquals(expected, toList(vector));
+                versions.add(vector);
+                contents.add(new ArrayList<>(expected));
+            }
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            assertEquals(contents.get(i), toList(versions.get(i)));
+            assertEquals(contents.get(i), versions.get(i).stream().collect(Collectors.toList()));
+            assertEquals(contents.get(i), toList(versions.get(i).toLinkedList()));
+        }
+    }
+
+    private static <A> List<A> toList(Iterable<A> items) {
+        List<A> values = new ArrayList<>();
+        items.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,183 @@
+package datastructure.immutable.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnrolledListTest {
+
+    @Test
+    void primitiveListsHoldTheirElements() {
+        int[] ints = IntStream.range(0, 200).toArray();
+        List<Integer> expected = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+
+        assertEquals(expected, toList(UnrolledList.ofInts(ints)));
+        assertEquals(expected.stream().map(Integer::longValue).collect(Collectors.toList()),
+                toList(UnrolledList.ofLongs(IntStream.range(0, 200).asLongStream().toArray())));
+        assertEquals(expected.stream().map(Integer::doubleValue).collect(Collectors.toList()),
+                toList(UnrolledList.ofDoubles(IntStream.range(0, 200).asDoubleStream().toArray())));
+        assertEquals(expected, toList(UnrolledList.fromLinkedList(LinkedList.fromStream(expected.stream()))));
+        assertEquals(expected, toList(UnrolledList.ofInts(ints).toLinkedList()));
+    }
+
+    @Test
+    void emptyListThrows() {
+        UnrolledList<Integer> list = UnrolledList.empty();
+
+        assertTrue(list.isEmpty());
+        assertThrows(NoSuchElementException.class, list::head);
+        assertThrows(NoSuchElementException.class, list::tail);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> UnrolledList.of(1).delete(1));
+    }
+
+    /*
+        Only one of the lists prepending to the same list gets its free slot, the others must copy
+     */
+    @Test
+    void concurrentPrependsDoNotOverwriteEachOther() throws Exception {
+        UnrolledList<Integer> base = UnrolledList.<Integer>empty().prepend(0).tail().prepend(1).prepend(2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<UnrolledList<Integer>>> results = new ArrayList<>();
+
+            for(int i = 0; i < 1000; i++) {
+                int value = 100 + i;
+                results.add(executor.submit(() -> base.prepend(value)));
+            }
+
+            for(int i = 0; i < results.size(); i++) {
+                assertEquals(List.of(100 + i, 2, 1), toList(results.get(i).get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(List.of(2, 1), toList(base));
+    }
+
+    /*
+        Random operations checked against java.util.ArrayList, over elements of mixed types
+        so that boxed and primitive chunks meet in the same list
+        Every step may start from an older version, which then prepends again to chunks already claimed
+     */
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(23);
+        List<UnrolledList<Object>> versions = new ArrayList<>();
+        List<List<Object>> contents = new ArrayList<>();
+        versions.add(UnrolledList.empty());
+        contents.add(new ArrayList<>());
+
+        for(int step = 0; step < 10_000; step++) {
+            int version = random.nextInt(4) == 0 ? random.nextInt(versions.size()) : versions.size() - 1;
+            UnrolledList<Object> list = versions.get(version);
+            List<Object> expected = new ArrayList<>(contents.get(version));
+            int operation = random.nextInt(expected.isEmpty() ? 4 : 10);
+
+            switch(operation) {
+                case 0: case 1: {
+                    Object value = element(random, step);
+                    list = list.prepend(value);
+                    expected.add(0, value);
+                    break;
+                }
+                case 2: {
+                    List<Object> items = List.of(element(random, step), element(random, step + 1), element(random, step + 2));
+                    UnrolledList<Object> that = UnrolledList.of(items.toArray());
+
+                    switch(random.nextInt(4)) {
+                        case 0: list = list.prependAll(that); expected.addAll(0, items); break;
+                        case 1: {
+                            list = list.prependAllReversed(that);
+                            List<Object> reversed = new ArrayList<>(items);
+                            Collections.reverse(reversed);
+                            expected.addAll(0, reversed);
+                            break;
+                        }
+                        case 2: list = list.appendAll(that); expected.addAll(items); break;
+                        default: list = list.append(items.get(0)); expected.add(items.get(0)); break;
+                    }
+                    break;
+                }
+                case 3: if(step % 20 == 0) { list = list.reverse(); Collections.reverse(expected); } break;
+                case 4: case 5: list = list.tail(); expected.remove(0); break;
+                case 6: {
+                    int count = random.nextInt(expected.size() + 1);
+                    list = list.drop(count);
+                    expected = new ArrayList<>(expected.subList(count, expected.size()));
+                    break;
+                }
+                case 7: {
+                    int index = random.nextInt(expected.size());
+                    list = list.delete(index);
+                    expected.remove(index);
+                    break;
+                }
+                case 8: {
+                    list = list.dropWhile(value -> !(value instanceof String));
+                    int count = 0;
+                    while(count < expected.size() && !(expected.get(count) instanceof String)) count++;
+                    expected = new ArrayList<>(expected.subList(count, expected.size()));
+                    break;
+                }
+                default: {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.get(index), list.get(index).orElse(null));
+                    break;
+                }
+            }
+
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected, toList(list));
+            if(!expected.isEmpty()) assertEquals(expected.get(0), list.head());
+
+            versions.add(list);
+            contents.add(expected);
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            assertEquals(contents.get(i), toList(versions.get(i)));
+        }
+    }
+
+    private static Object element(Random random, int step) {
+        switch(random.nextInt(6)) {
+            case 0: return (long) step;
+            case 1: return step / 2.0;
+            case 2: return "s" + step;
+            default: return step;
+        }
+    }
+
+    private static <A> List<A> toList(Iterable<A> items) {
+        List<A> values = new ArrayList<>();
+        items.forEach(values::add);
+        return values;
+    }
+
+    private static <A> List<A> toList(UnrolledList<A> list) {
+        List<A> values = new ArrayList<>();
+        list.traverse(values::add);
+
+        List<A> iterated = new ArrayList<>();
+        list.iterator().forEachRemaining(iterated::add);
+        assertEquals(values, iterated);
+
+        return values;
+    }
+}
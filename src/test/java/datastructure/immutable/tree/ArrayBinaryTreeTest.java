@@ -0,0 +1,110 @@
+package datastructure.immutable.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArrayBinaryTreeTest {
+
+    /*
+        of builds the shape of BinaryTree.of for every size, including the ones that do not fill the last level
+     */
+    @Test
+    void ofMatchesBinaryTreeOf() {
+        for(int size = 0; size <= 130; size++) {
+            Integer[] items = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+            BinaryTree<Integer> tree = BinaryTree.of(items);
+            ArrayBinaryTree<Integer> array = ArrayBinaryTree.of(items);
+
+            assertEquals(size, array.size());
+            assertEquals(tree.depth(), array.depth());
+            assertTrue(array.compare(ArrayBinaryTree.from(tree)), "size " + size);
+            assertTrue(tree.compare(array.toBinaryTree()), "size " + size);
+            assertEquals(levelOrder(tree), levelOrder(array));
+        }
+    }
+
+    /*
+        Random shapes, sparse ones included, go through the array layout and back unchanged
+        Flipping commutes with the conversion, whether the BinaryTree is flipped before or the array after
+     */
+    @Test
+    void conversionsAndFlipRoundTrip() {
+        Random random = new Random(67);
+
+        for(int round = 0; round < 300; round++) {
+            BinaryTree<Integer> tree = randomTree(random, random.nextInt(60), 12);
+            ArrayBinaryTree<Integer> array = ArrayBinaryTree.from(tree);
+
+            assertEquals(tree.size(), array.size());
+            assertEquals(tree.depth(), array.depth());
+            assertTrue(tree.compare(array.toBinaryTree()));
+            assertTrue(array.compare(ArrayBinaryTree.from(array.toBinaryTree())));
+            assertEquals(levelOrder(tree), levelOrder(array));
+
+            ArrayBinaryTree<Integer> flipped = array.flip();
+
+            assertTrue(flipped.compare(ArrayBinaryTree.from(tree.flip())));
+            assertTrue(tree.flip().compare(flipped.toBinaryTree()));
+            assertTrue(array.compare(flipped.flip()));
+            assertTrue(array.flipEqual(flipped));
+            assertTrue(flipped.flipEqual(array));
+            assertEquals(levelOrder(tree.flip()), levelOrder(flipped));
+
+            /* A flipped view nested in a branch is read mirrored */
+            BinaryTree<Integer> nested = BinaryTree.branch(-1, tree.flip(), tree);
+            assertTrue(nested.compare(ArrayBinaryTree.from(nested).toBinaryTree()));
+        }
+    }
+
+    @Test
+    void differentTreesAreNotEqual() {
+        ArrayBinaryTree<Integer> left = ArrayBinaryTree.from(BinaryTree.branch(1, BinaryTree.branch(2, BinaryTree.empty(), BinaryTree.empty()), BinaryTree.empty()));
+        ArrayBinaryTree<Integer> right = ArrayBinaryTree.from(BinaryTree.branch(1, BinaryTree.empty(), BinaryTree.branch(2, BinaryTree.empty(), BinaryTree.empty())));
+
+        assertFalse(left.compare(right));
+        assertFalse(left.flipEqual(left));
+        assertTrue(left.flipEqual(right));
+        assertFalse(ArrayBinaryTree.of(1, 2, 3).compare(ArrayBinaryTree.of(1, 3, 2)));
+        assertTrue(ArrayBinaryTree.<Integer>empty().compare(ArrayBinaryTree.of()));
+        assertTrue(ArrayBinaryTree.<Integer>empty().flip().flipEqual(ArrayBinaryTree.empty()));
+    }
+
+    @Test
+    void tooDeepTreesAreRejected() {
+        BinaryTree<Integer> path = BinaryTree.empty();
+
+        for(int i = 0; i < 31; i++) path = BinaryTree.branch(i, path, BinaryTree.empty());
+
+        BinaryTree<Integer> deep = path;
+        assertThrows(IllegalArgumentException.class, () -> ArrayBinaryTree.from(deep));
+    }
+
+    private static BinaryTree<Integer> randomTree(Random random, int size, int depth) {
+        if(size == 0 || depth == 0) return BinaryTree.empty();
+
+        int left = random.nextInt(size);
+
+        return BinaryTree.branch(random.nextInt(1_000), randomTree(random, left, depth - 1), randomTree(random, size - 1 - left, depth - 1));
+    }
+
+    private static List<Integer> levelOrder(BinaryTree<Integer> tree) {
+        List<Integer> values = new ArrayList<>();
+        tree.levelOrderIterator().forEachRemaining(values::add);
+        return values;
+    }
+
+    private static List<Integer> levelOrder(ArrayBinaryTree<Integer> tree) {
+        List<Integer> values = new ArrayList<>();
+        tree.traverse(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,192 @@
+package datastructure.immutable.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinarySearchTreeTest {
+
+    /*
+        union, intersection and difference of random trees, checked against java.util.TreeSet
+        Some trees are large enough for the halves to be combined in parallel
+     */
+    @Test
+    void setOperationsMatchTreeSet() {
+        Random random = new Random(29);
+
+        for(int round = 0; round < 60; round++) {
+            int bound = round % 10 == 0 ? 200_000 : 2_000;
+            TreeSet<Integer> these = randomSet(random, random.nextInt(round % 10 == 0 ? 40_000 : 500), bound);
+            TreeSet<Integer> those = randomSet(random, random.nextInt(round % 10 == 0 ? 40_000 : 500), bound);
+            BinarySearchTree<Integer> thisTree = tree(these, random);
+            BinarySearchTree<Integer> thatTree = tree(those, random);
+
+            TreeSet<Integer> union = new TreeSet<>(these);
+            union.addAll(those);
+            TreeSet<Integer> intersection = new TreeSet<>(these);
+            intersection.retainAll(those);
+            TreeSet<Integer> difference = new TreeSet<>(these);
+            difference.removeAll(those);
+
+            check(union, thisTree.union(thatTree));
+            check(union, thatTree.union(thisTree));
+            check(intersection, thisTree.intersection(thatTree));
+            check(intersection, thatTree.intersection(thisTree));
+            check(difference, thisTree.difference(thatTree));
+
+            check(these, thisTree.union(thisTree));
+            check(these, thisTree.intersection(thisTree));
+            check(new TreeSet<>(), thisTree.difference(thisTree));
+            check(these, thisTree.union(BinarySearchTree.of()));
+            check(these, thisTree.difference(BinarySearchTree.of()));
+
+            check(these, thisTree);
+            check(those, thatTree);
+        }
+    }
+
+    @Test
+    void splitMatchesTreeSet() {
+        Random random = new Random(31);
+
+        for(int round = 0; round < 200; round++) {
+            TreeSet<Integer> keys = randomSet(random, random.nextInt(1_000), 3_000);
+            BinarySearchTree<Integer> tree = tree(keys, random);
+            int key = random.nextInt(3_000);
+
+            Map.Entry<BinarySearchTree<Integer>, BinarySearchTree<Integer>> split = tree.split(key);
+
+            check(new TreeSet<>(keys.headSet(key, false)), split.getKey());
+            check(new TreeSet<>(keys.tailSet(key, false)), split.getValue());
+            check(keys, tree);
+        }
+    }
+
+    @Test
+    void insertsAndDeletesMatchTreeSet() {
+        Random random = new Random(37);
+        TreeSet<Integer> expected = new TreeSet<>();
+        BinarySearchTree<Integer> tree = BinarySearchTree.of();
+
+        for(int step = 0; step < 20_000; step++) {
+            int key = random.nextInt(5_000);
+
+            if(random.nextInt(3) == 0) {
+                tree = tree.delete(key);
+                expected.remove(key);
+            } else {
+                tree = tree.insert(key);
+                expected.add(key);
+            }
+
+            assertEquals(expected.size(), (int) tree.size());
+
+            if(step % 500 == 0) check(expected, tree);
+        }
+
+        check(expected, tree);
+    }
+
+    @Test
+    void medianIsTheLowerMiddleKey() {
+        assertEquals(Optional.empty(), BinarySearchTree.<Integer>of().median());
+        assertEquals(Optional.of(10), BinarySearchTree.of(10).median());
+        assertEquals(Optional.of(10), BinarySearchTree.of(20, 10).median());
+        assertEquals(Optional.of(20), BinarySearchTree.of(30, 10, 20).median());
+        assertEquals(Optional.of(20), BinarySearchTree.of(40, 10, 30, 20).median());
+        assertEquals(Optional.of(30), BinarySearchTree.of(50, 10, 40, 20, 30).median());
+    }
+
+    /*
+        Nearest rank: the smallest key such that at least percent % of the keys are less than or equal to it
+     */
+    @Test
+    void percentileIsTheNearestRank() {
+        BinarySearchTree<Integer> ten = BinarySearchTree.of(IntStream.rangeClosed(1, 10).boxed().toArray(Integer[]::new));
+
+        assertEquals(Optional.of(1), ten.percentile(0));
+        assertEquals(Optional.of(1), ten.percentile(10));
+        assertEquals(Optional.of(2), ten.percentile(10.5));
+        assertEquals(Optional.of(3), ten.percentile(25));
+        assertEquals(Optional.of(9), ten.percentile(90));
+        assertEquals(Optional.of(10), ten.percentile(90.1));
+        assertEquals(Optional.of(10), ten.percentile(100));
+        assertThrows(IllegalArgumentException.class, () -> ten.percentile(100.5));
+
+        for(int size = 1; size <= 40; size++) {
+            BinarySearchTree<Integer> tree = BinarySearchTree.of(IntStream.range(0, size).boxed().toArray(Integer[]::new));
+
+            for(int percent = 0; percent <= 100; percent++) {
+                int key = 0;
+                while((key + 1) * 100 < percent * size) key++;
+
+                assertEquals(Optional.of(key), tree.percentile(percent), size + " keys, " + percent + "%");
+            }
+        }
+    }
+
+    /*
+        Builds the tree from the keys in one of the ways the class offers
+     */
+    private static BinarySearchTree<Integer> tree(TreeSet<Integer> keys, Random random) {
+        switch(random.nextInt(3)) {
+            case 0: return BinarySearchTree.ofSorted(keys.toArray(new Integer[0]));
+            case 1: {
+                List<Integer> shuffled = new ArrayList<>(keys);
+                Collections.shuffle(shuffled, random);
+                return BinarySearchTree.of(shuffled.toArray(new Integer[0]));
+            }
+            default: {
+                TransientBinarySearchTree<Integer> batch = BinarySearchTree.<Integer>of().asTransient();
+                keys.descendingSet().forEach(batch::insert);
+                return batch.persistent();
+            }
+        }
+    }
+
+    private static TreeSet<Integer> randomSet(Random random, int size, int bound) {
+        TreeSet<Integer> keys = new TreeSet<>();
+        for(int i = 0; i < size; i++) keys.add(random.nextInt(bound));
+        return keys;
+    }
+
+    /*
+        Checks the keys in order, the cached sizes and heights, and the weight balance of every node
+     */
+    static void check(TreeSet<Integer> expected, BinarySearchTree<Integer> tree) {
+        List<Integer> keys = new ArrayList<>();
+        tree.inOrderTraversal(keys::add);
+
+        assertEquals(new ArrayList<>(expected), keys);
+        assertEquals(expected.size(), (int) tree.size());
+        valid(tree);
+    }
+
+    private static int valid(BinarySearchTree<Integer> tree) {
+        if(!(tree instanceof BranchNode)) return 0;
+
+        BranchNode<Integer> node = (BranchNode<Integer>) tree;
+        int left = node.left.size();
+        int right = node.right.size();
+
+        assertTrue(left + right <= 1 || (left <= BinarySearchTree.DELTA * right && right <= BinarySearchTree.DELTA * left),
+                "unbalanced node " + node.data + ": " + left + " / " + right);
+
+        int height = 1 + Math.max(valid(node.left), valid(node.right));
+        assertEquals(1 + left + right, node.size);
+        assertEquals(height, node.height);
+
+        return height;
+    }
+}
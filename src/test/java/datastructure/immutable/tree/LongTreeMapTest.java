@@ -0,0 +1,97 @@
+package datastructure.immutable.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongTreeMapTest {
+
+    /*
+        Random puts, removes and computeIfAbsent over the whole long range, checked against java.util.TreeMap
+        Older versions are kept and checked again at the end, they must not see the later operations
+     */
+    @Test
+    void matchesJavaTreeMap() {
+        Random random = new Random(61);
+        long[] keys = random.longs(2_000).toArray();
+        keys[0] = Long.MIN_VALUE;
+        keys[1] = Long.MAX_VALUE;
+        keys[2] = 0;
+
+        LongTreeMap<String> map = LongTreeMap.empty();
+        TreeMap<Long, String> expected = new TreeMap<>();
+        List<LongTreeMap<String>> versions = new ArrayList<>();
+        List<TreeMap<Long, String>> contents = new ArrayList<>();
+
+        for(int step = 0; step < 20_000; step++) {
+            long key = keys[random.nextInt(keys.length)];
+
+            switch(random.nextInt(4)) {
+                case 0: case 1: map = map.put(key, "v" + step); expected.put(key, "v" + step); break;
+                case 2: map = map.remove(key); expected.remove(key); break;
+                default: {
+                    String value = "c" + step;
+                    map = map.computeIfAbsent(key, k -> value);
+                    expected.computeIfAbsent(key, k -> value);
+                    break;
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+
+            if(step % 500 == 0) {
+                check(expected, map);
+                versions.add(map);
+                contents.add(new TreeMap<>(expected));
+            }
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            check(contents.get(i), versions.get(i));
+        }
+
+        for(int round = 0; round < 200; round++) {
+            long from = keys[random.nextInt(keys.length)];
+            long to = keys[random.nextInt(keys.length)];
+            if(from > to) { long swap = from; from = to; to = swap; }
+
+            assertEquals(new ArrayList<>(expected.subMap(from, true, to, true).keySet()), map.keys(from, to).boxed().collect(Collectors.toList()));
+
+            List<Map.Entry<Long, String>> visited = new ArrayList<>();
+            map.traverse(from, to, (key, value) -> visited.add(Map.entry(key, value)));
+            assertEquals(new ArrayList<>(expected.subMap(from, true, to, true).entrySet()), visited);
+        }
+    }
+
+    @Test
+    void endsOfTheMap() {
+        LongTreeMap<String> map = LongTreeMap.empty();
+
+        assertEquals(OptionalLong.empty(), map.firstKey());
+        assertEquals(OptionalLong.empty(), map.lastKey());
+
+        map = map.put(5, "a").put(-7, "b").put(3, "c");
+
+        assertEquals(OptionalLong.of(-7), map.firstKey());
+        assertEquals(OptionalLong.of(5), map.lastKey());
+    }
+
+    private static <V> void check(TreeMap<Long, V> expected, LongTreeMap<V> map) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.keySet()), map.keys().boxed().collect(Collectors.toList()));
+
+        List<Map.Entry<Long, V>> visited = new ArrayList<>();
+        map.traverse((key, value) -> visited.add(Map.entry(key, value)));
+        assertEquals(new ArrayList<>(expected.entrySet()), visited);
+    }
+}
@@ -0,0 +1,100 @@
+package datastructure.immutable.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransientBinarySearchTreeTest {
+
+    /*
+        Batches of random inserts and deletes, checked against java.util.TreeSet
+        Each batch starts from the tree left by the previous one, which must not see the batch
+     */
+    @Test
+    void batchesMatchTreeSet() {
+        Random random = new Random(41);
+        BinarySearchTree<Integer> tree = BinarySearchTree.of();
+        TreeSet<Integer> expected = new TreeSet<>();
+        List<BinarySearchTree<Integer>> versions = new ArrayList<>();
+        List<TreeSet<Integer>> contents = new ArrayList<>();
+
+        for(int batch = 0; batch < 100; batch++) {
+            BinarySearchTree<Integer> previous = tree;
+            TreeSet<Integer> previousKeys = new TreeSet<>(expected);
+            TransientBinarySearchTree<Integer> editing = tree.asTransient();
+
+            for(int step = random.nextInt(500); step > 0; step--) {
+                int key = random.nextInt(3_000);
+
+                if(random.nextInt(3) == 0) {
+                    editing.delete(key);
+                    expected.remove(key);
+                } else {
+                    editing.insert(key);
+                    expected.add(key);
+                }
+
+                assertEquals(expected.size(), editing.size());
+                assertEquals(expected.contains(key), editing.find(key).isPresent());
+            }
+
+            tree = editing.persistent();
+            BinarySearchTreeTest.check(expected, tree);
+            BinarySearchTreeTest.check(previousKeys, previous);
+
+            versions.add(tree);
+            contents.add(new TreeSet<>(expected));
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            BinarySearchTreeTest.check(contents.get(i), versions.get(i));
+        }
+    }
+
+    /*
+        Persistent operations on a frozen batch copy the nodes they change, the frozen tree is left as it was
+     */
+    @Test
+    void frozenBatchIsNotChangedByLaterUpdates() {
+        TransientBinarySearchTree<Integer> editing = BinarySearchTree.<Integer>of().asTransient();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for(int key = 0; key < 1_000; key++) {
+            editing.insert(key * 2);
+            expected.add(key * 2);
+        }
+
+        BinarySearchTree<Integer> frozen = editing.persistent();
+        BinarySearchTree<Integer> updated = frozen.insert(1).delete(0);
+        BinarySearchTree<Integer> again = frozen.asTransient().insert(3).delete(2).persistent();
+
+        BinarySearchTreeTest.check(expected, frozen);
+
+        TreeSet<Integer> afterUpdate = new TreeSet<>(expected);
+        afterUpdate.add(1);
+        afterUpdate.remove(0);
+        BinarySearchTreeTest.check(afterUpdate, updated);
+
+        TreeSet<Integer> afterBatch = new TreeSet<>(expected);
+        afterBatch.add(3);
+        afterBatch.remove(2);
+        BinarySearchTreeTest.check(afterBatch, again);
+    }
+
+    @Test
+    void transientCannotBeUsedAfterPersistent() {
+        TransientBinarySearchTree<Integer> editing = BinarySearchTree.of(1, 2, 3).asTransient();
+        editing.persistent();
+
+        assertThrows(IllegalStateException.class, () -> editing.insert(4));
+        assertThrows(IllegalStateException.class, () -> editing.delete(1));
+        assertThrows(IllegalStateException.class, editing::size);
+        assertThrows(IllegalStateException.class, editing::persistent);
+    }
+}
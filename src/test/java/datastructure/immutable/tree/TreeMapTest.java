@@ -0,0 +1,119 @@
+package datastructure.immutable.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TreeMapTest {
+
+    /*
+        Random puts, removes and computeIfAbsent, checked against java.util.TreeMap after each step
+        Older versions are kept and checked again at the end, they must not see the later operations
+     */
+    @Test
+    void matchesJavaTreeMap() {
+        Random random = new Random(53);
+        TreeMap<Integer, String> map = TreeMap.empty();
+        java.util.TreeMap<Integer, String> expected = new java.util.TreeMap<>();
+        List<TreeMap<Integer, String>> versions = new ArrayList<>();
+        List<java.util.TreeMap<Integer, String>> contents = new ArrayList<>();
+
+        for(int step = 0; step < 20_000; step++) {
+            int key = random.nextInt(2_000);
+
+            switch(random.nextInt(4)) {
+                case 0: case 1: map = map.put(key, "v" + step); expected.put(key, "v" + step); break;
+                case 2: map = map.remove(key); expected.remove(key); break;
+                default: {
+                    String value = "c" + step;
+                    map = map.computeIfAbsent(key, k -> value);
+                    expected.computeIfAbsent(key, k -> value);
+                    break;
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+            assertEquals(expected.containsKey(key + 1), map.containsKey(key + 1));
+
+            if(step % 500 == 0) {
+                check(expected, map);
+                versions.add(map);
+                contents.add(new java.util.TreeMap<>(expected));
+            }
+        }
+
+        for(int i = 0; i < versions.size(); i++) {
+            check(contents.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    void rangesAndEndsMatchJavaTreeMap() {
+        Random random = new Random(59);
+        TreeMap<Integer, Integer> map = TreeMap.empty();
+        java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+
+        assertEquals(Optional.empty(), map.firstEntry());
+        assertEquals(Optional.empty(), map.lastEntry());
+
+        for(int i = 0; i < 1_000; i++) {
+            int key = random.nextInt(5_000);
+            map = map.put(key, -key);
+            expected.put(key, -key);
+        }
+
+        assertEquals(Optional.of(expected.firstEntry()), map.firstEntry().map(TreeMapTest::copy));
+        assertEquals(Optional.of(expected.lastEntry()), map.lastEntry().map(TreeMapTest::copy));
+
+        for(int round = 0; round < 200; round++) {
+            int from = random.nextInt(5_000);
+            int to = from + random.nextInt(500);
+
+            assertEquals(new ArrayList<>(expected.subMap(from, true, to, true).entrySet()),
+                    map.entries(from, to).map(TreeMapTest::copy).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void comparatorOrdersTheKeys() {
+        TreeMap<String, Integer> map = TreeMap.<String, Integer>empty(Comparator.reverseOrder())
+                .put("a", 1).put("c", 3).put("b", 2);
+
+        assertEquals(List.of("c", "b", "a"), map.entries().map(Map.Entry::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    void unchangedMapsAreShared() {
+        String value = "b";
+        TreeMap<Integer, String> map = TreeMap.<Integer, String>empty().put(1, "a").put(2, value);
+
+        assertSame(map, map.remove(3));
+        assertSame(map, map.computeIfAbsent(1, k -> "z"));
+        assertSame(map, map.put(2, value));
+        assertEquals(Optional.of("a"), map.get(1));
+    }
+
+    private static <K, V> void check(java.util.TreeMap<K, V> expected, TreeMap<K, V> map) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.entrySet()), map.entries().map(TreeMapTest::copy).collect(Collectors.toList()));
+
+        List<Map.Entry<K, V>> iterated = new ArrayList<>();
+        map.forEach(entry -> iterated.add(copy(entry)));
+        assertEquals(new ArrayList<>(expected.entrySet()), iterated);
+    }
+
+    private static <K, V> Map.Entry<K, V> copy(Map.Entry<K, V> entry) {
+        return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+    }
+}
@@ -0,0 +1,106 @@
+package datastructure.immutable.tree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TreeSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    /*
+        Complete and incomplete implicit trees, written and read back, checked against the tree they were written from
+        The keys are even, so odd probes fall between two keys
+     */
+    @Test
+    void roundTripMatchesTheTree() throws IOException {
+        Random random = new Random(47);
+
+        for(int size : new int[]{0, 1, 2, 3, 4, 7, 8, 9, 15, 16, 31, 32, 1023, 1024, 1025, 100_000}) {
+            BinarySearchTree<Integer> tree = BinarySearchTree.ofSorted(IntStream.range(0, size).map(i -> 2 * i).boxed().toArray(Integer[]::new));
+            Path file = directory.resolve("snapshot-" + size);
+
+            TreeSnapshot.write(tree, KeyCodec.INTEGER, file);
+            TreeSnapshot<Integer> snapshot = TreeSnapshot.open(file, KeyCodec.INTEGER);
+
+            assertEquals(size, snapshot.size());
+            assertEquals(tree.stream().collect(Collectors.toList()), snapshot.stream().collect(Collectors.toList()));
+            assertEquals(tree.stream().collect(Collectors.toList()), snapshot.toTree().stream().collect(Collectors.toList()));
+
+            for(int probe = -2; probe <= 2 * size + 1; probe += size > 100 ? 1 + random.nextInt(200) : 1) {
+                assertEquals(tree.find(probe), snapshot.find(probe), "find " + probe);
+                assertEquals(tree.floor(probe), snapshot.floor(probe), "floor " + probe);
+                assertEquals(tree.ceiling(probe), snapshot.ceiling(probe), "ceiling " + probe);
+
+                int to = probe + random.nextInt(40) - 5;
+                assertEquals(tree.range(probe, to).collect(Collectors.toList()), snapshot.range(probe, to).collect(Collectors.toList()),
+                        "range " + probe + " " + to);
+            }
+        }
+    }
+
+    @Test
+    void otherKeyTypesRoundTrip() throws IOException {
+        Path longs = directory.resolve("longs");
+        Path doubles = directory.resolve("doubles");
+
+        TreeSnapshot.write(BinarySearchTree.of(5L, -3L, Long.MAX_VALUE, Long.MIN_VALUE), KeyCodec.LONG, longs);
+        TreeSnapshot.write(BinarySearchTree.of(0.5, -2.25, 1e300), KeyCodec.DOUBLE, doubles);
+
+        assertEquals(List.of(Long.MIN_VALUE, -3L, 5L, Long.MAX_VALUE),
+                TreeSnapshot.open(longs, KeyCodec.LONG).stream().collect(Collectors.toList()));
+        assertEquals(List.of(-2.25, 0.5, 1e300),
+                TreeSnapshot.open(doubles, KeyCodec.DOUBLE).stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void codecOfAnotherWidthIsRejected() throws IOException {
+        Path file = directory.resolve("ints");
+        TreeSnapshot.write(BinarySearchTree.of(1, 2, 3), KeyCodec.INTEGER, file);
+
+        IOException failure = assertThrows(IOException.class, () -> TreeSnapshot.open(file, KeyCodec.LONG));
+        assertTrue(failure.getMessage().contains("codec width"));
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() throws IOException {
+        Path file = directory.resolve("truncated");
+        TreeSnapshot.write(BinarySearchTree.of(1, 2, 3, 4, 5), KeyCodec.INTEGER, file);
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        IOException failure = assertThrows(IOException.class, () -> TreeSnapshot.open(file, KeyCodec.INTEGER));
+        assertTrue(failure.getMessage().contains("truncated"));
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(10);
+        }
+
+        assertThrows(IOException.class, () -> TreeSnapshot.open(file, KeyCodec.INTEGER));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = directory.resolve("other");
+        Files.write(file, "not a snapshot at all".getBytes());
+
+        IOException failure = assertThrows(IOException.class, () -> TreeSnapshot.open(file, KeyCodec.INTEGER));
+        assertTrue(failure.getMessage().contains("not a tree snapshot"));
+    }
+}
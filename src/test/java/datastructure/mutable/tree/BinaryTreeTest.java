@@ -0,0 +1,243 @@
+package datastructure.mutable.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTreeTest {
+
+    /*
+        Plain recursive tree the mutable and immutable trees are checked against
+     */
+    private static final class Node {
+        final int value;
+        final Node left;
+        final Node right;
+
+        Node(int value, Node left, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    @Test
+    void traversalsMatchTheReference() {
+        Random random = new Random(3);
+
+        for(int round = 0; round < 200; round++) {
+            Node reference = random(random, random.nextInt(60));
+            BinaryTree<Integer> tree = mutable(reference);
+
+            check(reference, tree);
+            tree.flip();
+            check(flipped(reference), tree);
+        }
+    }
+
+    @Test
+    void frozenSnapshotIsNotChangedByLaterFlips() {
+        Random random = new Random(5);
+
+        for(int round = 0; round < 200; round++) {
+            Node reference = random(random, random.nextInt(60));
+            BinaryTree<Integer> tree = mutable(reference);
+
+            datastructure.immutable.tree.BinaryTree<Integer> snapshot = tree.freeze();
+            check(reference, snapshot);
+            check(reference, tree);
+
+            tree.flip();
+            check(flipped(reference), tree);
+            check(reference, snapshot);
+            assertTrue(tree.flipEqual(snapshot.thaw()));
+
+            datastructure.immutable.tree.BinaryTree<Integer> second = tree.freeze();
+            check(flipped(reference), second);
+            assertTrue(second.flipEqual(snapshot));
+
+            tree.flip();
+            check(reference, tree);
+            assertTrue(tree.compare(mutable(reference)));
+            assertTrue(mutable(reference).compare(tree));
+            check(flipped(reference), second);
+        }
+    }
+
+    /*
+        Immutable trees made of flipped views and subtrees shared by both sides of a node
+     */
+    @Test
+    void thawedTreesMatchTheReference() {
+        Random random = new Random(11);
+
+        for(int round = 0; round < 200; round++) {
+            Node reference = random(random, random.nextInt(60));
+            datastructure.immutable.tree.BinaryTree<Integer> frozen = immutable(reference, random);
+            check(reference, frozen);
+
+            BinaryTree<Integer> tree = BinaryTree.thaw(frozen);
+            check(reference, tree);
+            assertTrue(tree.compare(mutable(reference)));
+            assertTrue(mutable(reference).compare(tree));
+
+            tree.flip();
+            check(flipped(reference), tree);
+            check(reference, frozen);
+        }
+
+        Node twice = random(random, 20);
+        Node reference = new Node(-1, twice, twice);
+        datastructure.immutable.tree.BinaryTree<Integer> shared = immutable(twice, random);
+        datastructure.immutable.tree.BinaryTree<Integer> frozen = datastructure.immutable.tree.BinaryTree.branch(-1, shared, shared);
+
+        check(reference, frozen);
+        check(reference, BinaryTree.thaw(frozen));
+    }
+
+    @Test
+    void ownedAndSharedNodesAreCompared() {
+        Random random = new Random(13);
+        Node reference = random(random, 40);
+        BinaryTree<Integer> tree = mutable(reference);
+        tree.freeze();
+
+        BinaryTree<Integer> other = mutable(reference);
+        assertTrue(tree.compare(other));
+        assertTrue(other.compare(tree));
+
+        other.flip();
+        assertTrue(tree.flipEqual(other));
+        assertTrue(other.flipEqual(tree));
+    }
+
+    private static void check(Node reference, BinaryTree<Integer> tree) {
+        assertEquals(count(reference), (int) tree.size());
+        assertEquals(height(reference), (int) tree.depth());
+        assertEquals(preOrder(reference), collect(tree::preOrderTraversal));
+        assertEquals(inOrder(reference), collect(tree::inOrderTraversal));
+        assertEquals(postOrder(reference), collect(tree::postOrderTraversal));
+        assertEquals(levelOrder(reference), collect(tree::levelOrderTraversal));
+        assertEquals(preOrder(reference), toList(tree.preOrderIterator()));
+        assertEquals(inOrder(reference), toList(tree.iterator()));
+        assertEquals(postOrder(reference), toList(tree.postOrderIterator()));
+        assertEquals(levelOrder(reference), toList(tree.levelOrderIterator()));
+    }
+
+    private static void check(Node reference, datastructure.immutable.tree.BinaryTree<Integer> tree) {
+        assertEquals(count(reference), (int) tree.size());
+        assertEquals(height(reference), (int) tree.depth());
+        assertEquals(preOrder(reference), toList(tree.preOrderIterator()));
+        assertEquals(inOrder(reference), toList(tree.iterator()));
+        assertEquals(postOrder(reference), toList(tree.postOrderIterator()));
+        assertEquals(levelOrder(reference), toList(tree.levelOrderIterator()));
+    }
+
+    private static Node random(Random random, int size) {
+        if(size == 0) return null;
+
+        int left = random.nextInt(size);
+        return new Node(random.nextInt(1000), random(random, left), random(random, size - 1 - left));
+    }
+
+    private static Node flipped(Node node) {
+        return node == null ? null : new Node(node.value, flipped(node.right), flipped(node.left));
+    }
+
+    private static BinaryTree<Integer> mutable(Node node) {
+        return node == null ? BinaryTree.leaf : new Branch<>(node.value, mutable(node.left), mutable(node.right));
+    }
+
+    /*
+        Some subtrees are built as the view of their flipped copy
+     */
+    private static datastructure.immutable.tree.BinaryTree<Integer> immutable(Node node, Random random) {
+        if(node == null) return datastructure.immutable.tree.BinaryTree.empty();
+
+        if(random.nextInt(3) == 0) return immutable(flipped(node), random).flip();
+
+        return datastructure.immutable.tree.BinaryTree.branch(node.value, immutable(node.left, random), immutable(node.right, random));
+    }
+
+    private static int count(Node node) {
+        return node == null ? 0 : 1 + count(node.left) + count(node.right);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static List<Integer> preOrder(Node node) {
+        List<Integer> values = new ArrayList<>();
+        preOrder(node, values);
+        return values;
+    }
+
+    private static void preOrder(Node node, List<Integer> values) {
+        if(node == null) return;
+        values.add(node.value);
+        preOrder(node.left, values);
+        preOrder(node.right, values);
+    }
+
+    private static List<Integer> inOrder(Node node) {
+        List<Integer> values = new ArrayList<>();
+        inOrder(node, values);
+        return values;
+    }
+
+    private static void inOrder(Node node, List<Integer> values) {
+        if(node == null) return;
+        inOrder(node.left, values);
+        values.add(node.value);
+        inOrder(node.right, values);
+    }
+
+    private static List<Integer> postOrder(Node node) {
+        List<Integer> values = new ArrayList<>();
+        postOrder(node, values);
+        return values;
+    }
+
+    private static void postOrder(Node node, List<Integer> values) {
+        if(node == null) return;
+        postOrder(node.left, values);
+        postOrder(node.right, values);
+        values.add(node.value);
+    }
+
+    private static List<Integer> levelOrder(Node node) {
+        List<Integer> values = new ArrayList<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        if(node != null) queue.add(node);
+
+        while(!queue.isEmpty()) {
+            Node current = queue.poll();
+            values.add(current.value);
+            if(current.left != null) queue.add(current.left);
+            if(current.right != null) queue.add(current.right);
+        }
+
+        return values;
+    }
+
+    private static List<Integer> collect(Consumer<Consumer<Integer>> traversal) {
+        List<Integer> values = new ArrayList<>();
+        traversal.accept(values::add);
+        return values;
+    }
+
+    private static List<Integer> toList(Iterator<Integer> iterator) {
+        List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+}